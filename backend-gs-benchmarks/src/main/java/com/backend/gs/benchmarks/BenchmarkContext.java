@@ -0,0 +1,41 @@
+package com.backend.gs.benchmarks;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Contexto Spring mínimo para os benchmarks: só os componentes que o caminho medido
+ * usa, com as propriedades passadas (@Value, @Autowired e @PostConstruct funcionam
+ * como na aplicação, sem subir web, segurança nem auto-configuração).
+ */
+final class BenchmarkContext {
+
+    /** H2 em memória criado a partir do mesmo script usado em desenvolvimento. */
+    static final String H2_URL = "jdbc:h2:mem:%s;DB_CLOSE_DELAY=-1"
+            + ";INIT=RUNSCRIPT FROM 'classpath:sql/create_tables_h2.sql'";
+
+    private BenchmarkContext() {
+    }
+
+    static AnnotationConfigApplicationContext start(Map<String, Object> properties, Class<?>... components) {
+        return start(properties, context -> { }, components);
+    }
+
+    static AnnotationConfigApplicationContext start(Map<String, Object> properties,
+                                                   Consumer<AnnotationConfigApplicationContext> extraBeans,
+                                                   Class<?>... components) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", properties));
+        extraBeans.accept(context);
+        context.register(components);
+        context.refresh();
+        return context;
+    }
+
+    static String h2Url(String databaseName) {
+        return String.format(H2_URL, databaseName);
+    }
+}
@@ -0,0 +1,122 @@
+package com.backend.gs.benchmarks;
+
+import com.backend.gs.dao.AudioFileDao;
+import com.backend.gs.dao.JobReportDao;
+import com.backend.gs.dao.UserDao;
+import com.backend.gs.database.OracleConnection;
+import com.backend.gs.model.JobReport;
+import com.backend.gs.model.JobReportStatus;
+import com.backend.gs.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapeamento de linhas dos DAOs (JDBC + ResultSet -> modelo) contra um H2 em
+ * memória criado com create_tables_h2.sql. Mede o custo do lado da aplicação sem
+ * rede: consulta, montagem dos objetos e empréstimo de conexão do Hikari.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DaoMappingBenchmark {
+
+    @Param({"100", "1000"})
+    private int reports;
+
+    @Param({"10"})
+    private int audiosPerReport;
+
+    private AnnotationConfigApplicationContext context;
+    private JobReportDao jobReportDao;
+    private UserDao userDao;
+    private long firstReportId;
+    private String username;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkContext.start(Map.of(
+                        "oracle.url", BenchmarkContext.h2Url("dao-bench"),
+                        "oracle.username", "sa",
+                        "oracle.password", ""),
+                OracleConnection.class, UserDao.class, JobReportDao.class, AudioFileDao.class);
+        jobReportDao = context.getBean(JobReportDao.class);
+        userDao = context.getBean(UserDao.class);
+        AudioFileDao audioFileDao = context.getBean(AudioFileDao.class);
+
+        username = "bench";
+        User user = userDao.save(new User(username, "bench@viewin.dev", "$2a$10$hashQualquerSoParaOcuparACOLUNA"));
+
+        for (int i = 0; i < reports; i++) {
+            JobReport jobReport = new JobReport();
+            jobReport.setIdUser(user.getId());
+            jobReport.setCompany("Empresa " + i);
+            jobReport.setTitle("Desenvolvedor Backend Java " + i);
+            jobReport.setDescription("Vaga para desenvolvedor backend com Spring Boot, JDBC, Oracle e AWS Lambda. " + i);
+            jobReportDao.save(jobReport);
+            if (i == 0) {
+                firstReportId = jobReport.getIdJobReport();
+            }
+
+            List<String> paths = new ArrayList<>();
+            for (int a = 0; a < audiosPerReport; a++) {
+                paths.add("s3://interview-ai-assets/sessions/" + jobReport.getIdJobReport() + "/audio_" + a + ".mp3");
+            }
+            audioFileDao.saveAll(jobReport.getIdJobReport(), paths);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        try (var conn = context.getBean(OracleConnection.class).getConnection();
+             var stmt = conn.createStatement()) {
+            // O banco tem DB_CLOSE_DELAY=-1: limpa para o próximo @Param começar vazio
+            stmt.execute("DROP ALL OBJECTS");
+        }
+        context.close();
+    }
+
+    private long randomReportId() {
+        return firstReportId + ThreadLocalRandom.current().nextInt(reports);
+    }
+
+    @Benchmark
+    public JobReportStatus findStatusById() throws Exception {
+        return jobReportDao.findStatusById(randomReportId());
+    }
+
+    @Benchmark
+    public JobReport findById() throws Exception {
+        return jobReportDao.findById(randomReportId());
+    }
+
+    @Benchmark
+    public List<JobReport> findAll() throws Exception {
+        return jobReportDao.findAll();
+    }
+
+    @Benchmark
+    public Object findUserByUsername() {
+        return userDao.findByUsername(username);
+    }
+}
@@ -0,0 +1,44 @@
+package com.backend.gs.benchmarks;
+
+import com.backend.gs.model.JobReport;
+import com.backend.gs.utils.JobInfoUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JobInfoUtil.buildJobInfo (chamado em todo create de job report).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JobInfoBenchmark {
+
+    private JobReport jobReport;
+
+    @Setup
+    public void setUp() {
+        jobReport = new JobReport();
+        jobReport.setCompany("ViewIn Tecnologia");
+        jobReport.setTitle("Desenvolvedor Backend Java Pleno");
+        jobReport.setDescription("Buscamos pessoa desenvolvedora backend com experiência em Spring Boot, "
+                + "JDBC, bancos Oracle/PostgreSQL, integração com AWS (S3, Lambda) e APIs REST.");
+    }
+
+    @Benchmark
+    public String buildJobInfo() {
+        return JobInfoUtil.buildJobInfo(jobReport);
+    }
+}
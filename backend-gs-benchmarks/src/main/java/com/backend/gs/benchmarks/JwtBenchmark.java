@@ -0,0 +1,93 @@
+package com.backend.gs.benchmarks;
+
+import com.backend.gs.config.JwtProperties;
+import com.backend.gs.model.AuthenticatedUser;
+import com.backend.gs.service.JwtService;
+import com.backend.gs.service.VerifiedTokenCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtService: o que o JwtAuthenticationFilter faz a cada request autenticado
+ * (authenticate, um parse só), a sequência antiga de três parses
+ * (extractUsername + validateToken + extractUserId no controller) como base de
+ * comparação e a emissão no login. {@code tokenCache} liga/desliga o
+ * VerifiedTokenCache (com ele, o authenticate repetido é um SHA-256 e um lookup).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    @Param({"true", "false"})
+    public boolean tokenCache;
+
+    private AnnotationConfigApplicationContext context;
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("minhaChaveSecretaSuperSeguraParaJWTTokenGeracaoDeTokens123456789");
+        properties.setExpiration(86400000);
+
+        context = BenchmarkContext.start(Map.of("jwt.cache.enabled", String.valueOf(tokenCache)),
+                ctx -> ctx.registerBean(JwtProperties.class, () -> properties),
+                VerifiedTokenCache.class, JwtService.class);
+        jwtService = context.getBean(JwtService.class);
+        token = jwtService.generateToken("tester", 42L);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken("tester", 42L);
+    }
+
+    @Benchmark
+    public Long extractUserId() {
+        return jwtService.extractUserId(token);
+    }
+
+    /**
+     * Filtro atual: assinatura, expiração, username e userId num único parse.
+     */
+    @Benchmark
+    public AuthenticatedUser authenticate() {
+        return jwtService.authenticate(token);
+    }
+
+    /**
+     * Sequência antiga de um endpoint autenticado: username e validação no filtro e
+     * userId de novo no controller (cada chamada faz o parse de novo).
+     */
+    @Benchmark
+    public void legacyAuthenticatedEndpoint(Blackhole blackhole) {
+        String username = jwtService.extractUsername(token);
+        blackhole.consume(jwtService.validateToken(token, username));
+        blackhole.consume(jwtService.extractUserId(token));
+    }
+}
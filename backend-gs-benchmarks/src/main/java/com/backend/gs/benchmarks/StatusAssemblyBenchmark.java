@@ -0,0 +1,118 @@
+package com.backend.gs.benchmarks;
+
+import com.backend.gs.client.LambdaClient;
+import com.backend.gs.client.LambdaResponseDecoder;
+import com.backend.gs.dao.AudioFileDao;
+import com.backend.gs.dao.JobReportDao;
+import com.backend.gs.dao.LambdaOutboxDao;
+import com.backend.gs.database.OracleConnection;
+import com.backend.gs.dto.PresignedUrlResponse;
+import com.backend.gs.model.AudioFile;
+import com.backend.gs.service.JobDispatcher;
+import com.backend.gs.service.JobReportService;
+import com.backend.gs.service.OutboxDispatcher;
+import com.backend.gs.service.PresignedUrlCache;
+import com.backend.gs.service.ReportCheckBackoff;
+import com.backend.gs.service.S3Service;
+import com.backend.gs.service.StatusCoalescer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Montagem da lista de áudios do getStatus (JobReportService.generatePresignedUrls):
+ * deduplicação dos paths, cache de presigned URLs e assinatura local no S3Service.
+ *
+ * "warm" repete sempre os mesmos paths (polls dentro da janela do cache); "cold"
+ * usa paths novos a cada chamada, então todos passam pela assinatura HMAC. Cada
+ * path aparece {@code copies} vezes na lista, como quando o callback audios-ready
+ * chega repetido.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatusAssemblyBenchmark {
+
+    @Param({"5", "20"})
+    private int audios;
+
+    @Param({"1", "2"})
+    private int copies;
+
+    private AnnotationConfigApplicationContext context;
+    private JobReportService jobReportService;
+    private List<AudioFile> warmAudios;
+    private long coldSequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Assinatura local não vai à rede, mas o DefaultCredentialsProvider precisa achar credenciais
+        System.setProperty("aws.accessKeyId", System.getProperty("aws.accessKeyId", "AKIABENCHMARK"));
+        System.setProperty("aws.secretAccessKey", System.getProperty("aws.secretAccessKey", "benchmark-secret"));
+
+        context = BenchmarkContext.start(Map.of(
+                        "oracle.url", BenchmarkContext.h2Url("status-bench"),
+                        "oracle.username", "sa",
+                        "oracle.password", "",
+                        "s3.bucket.name", "interview-ai-assets",
+                        "outbox.enabled", "false"),
+                ctx -> ctx.registerBean(ObjectMapper.class, () -> Jackson2ObjectMapperBuilder.json().build()),
+                OracleConnection.class, JobReportDao.class, AudioFileDao.class, LambdaOutboxDao.class,
+                S3Service.class, PresignedUrlCache.class, ReportCheckBackoff.class, StatusCoalescer.class,
+                LambdaClient.class, LambdaResponseDecoder.class, JobDispatcher.class, OutboxDispatcher.class,
+                JobReportService.class);
+        jobReportService = context.getBean(JobReportService.class);
+
+        warmAudios = audioFiles("sess-warm");
+        jobReportService.generatePresignedUrls(warmAudios);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private List<AudioFile> audioFiles(String sessionId) {
+        List<AudioFile> files = new ArrayList<>(audios * copies);
+        for (int copy = 0; copy < copies; copy++) {
+            for (int i = 0; i < audios; i++) {
+                AudioFile audioFile = new AudioFile();
+                audioFile.setS3Path("s3://interview-ai-assets/sessions/" + sessionId + "/audio_" + i + ".mp3");
+                audioFile.setFileName("audio_" + i + ".mp3");
+                files.add(audioFile);
+            }
+        }
+        return files;
+    }
+
+    @Benchmark
+    public List<PresignedUrlResponse> warm() {
+        return jobReportService.generatePresignedUrls(warmAudios);
+    }
+
+    @Benchmark
+    public List<PresignedUrlResponse> cold() {
+        return jobReportService.generatePresignedUrls(audioFiles("sess-" + coldSequence++));
+    }
+}
@@ -0,0 +1,57 @@
+package com.backend.gs.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Opções de linha de comando no formato --chave=valor (o mesmo das propriedades do
+ * Spring). Chaves com prefixo são procuradas do mais específico para o geral:
+ * get("check-report", "median-ms") tenta "check-report.median-ms" e depois "median-ms".
+ */
+final class HarnessOptions {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    HarnessOptions(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Argumento inválido (use --chave=valor): " + arg);
+            }
+            int eq = arg.indexOf('=');
+            if (eq == -1) {
+                values.put(arg.substring(2), "true");
+            } else {
+                values.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+    }
+
+    String get(String prefix, String key, String defaultValue) {
+        String value = values.get(prefix + "." + key);
+        return value != null ? value : values.getOrDefault(key, defaultValue);
+    }
+
+    String get(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    int getInt(String key, int defaultValue) {
+        return Integer.parseInt(get(key, String.valueOf(defaultValue)));
+    }
+
+    long getLong(String prefix, String key, long defaultValue) {
+        return Long.parseLong(get(prefix, key, String.valueOf(defaultValue)));
+    }
+
+    long getLong(String key, long defaultValue) {
+        return Long.parseLong(get(key, String.valueOf(defaultValue)));
+    }
+
+    double getDouble(String prefix, String key, double defaultValue) {
+        return Double.parseDouble(get(prefix, key, String.valueOf(defaultValue)));
+    }
+
+    boolean getBoolean(String key, boolean defaultValue) {
+        return Boolean.parseBoolean(get(key, String.valueOf(defaultValue)));
+    }
+}
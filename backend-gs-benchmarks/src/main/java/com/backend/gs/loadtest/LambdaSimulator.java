@@ -0,0 +1,224 @@
+package com.backend.gs.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Servidor HTTP local que imita os contratos das quatro Lambdas usadas pelo
+ * JobReportService, para testes de carga sem AWS:
+ * <ul>
+ *   <li>/generate-questions: {"session_id": "sess-{job_report_id}"}</li>
+ *   <li>/presigned-url: envelope da Function URL ({"statusCode": 200, "body": "..."})
+ *       com presigned_url (download por s3_path ou upload por session_id/filename)</li>
+ *   <li>/upload-urls: session_id, expires_in e upload_urls (JSON puro)</li>
+ *   <li>/check-report: exists/report_url; o relatório "fica pronto" depois de
+ *       report-after-checks verificações da mesma sessão</li>
+ * </ul>
+ * Latência, erros e cold starts são configuráveis por endpoint (ver {@link LatencyProfile}).
+ *
+ * Uso: java -cp target/benchmarks.jar com.backend.gs.loadtest.LambdaSimulator --port=9911 --median-ms=80
+ */
+public class LambdaSimulator implements AutoCloseable {
+
+    static final String[] ENDPOINTS = {"generate-questions", "presigned-url", "upload-urls", "check-report"};
+
+    private static final String BUCKET = "interview-ai-assets";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, LatencyProfile> profiles = new LinkedHashMap<>();
+    private final Map<String, AtomicLong> requests = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> errors = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> reportChecks = new ConcurrentHashMap<>();
+    private final int reportAfterChecks;
+
+    public LambdaSimulator(String[] args) throws IOException {
+        this(new HarnessOptions(args));
+    }
+
+    LambdaSimulator(HarnessOptions options) throws IOException {
+        this.reportAfterChecks = options.getInt("report-after-checks", 3);
+        int port = options.getInt("port", 9911);
+        int threads = options.getInt("threads", 200);
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "lambda-sim-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress(port), 1024);
+        this.server.setExecutor(executor);
+
+        for (String endpoint : ENDPOINTS) {
+            profiles.put(endpoint, new LatencyProfile(options, endpoint));
+            requests.put(endpoint, new AtomicLong());
+            errors.put(endpoint, new AtomicLong());
+            server.createContext("/" + endpoint, exchange -> handle(endpoint, exchange));
+        }
+    }
+
+    public LambdaSimulator start() {
+        server.start();
+        System.out.println("🧪 LambdaSimulator ouvindo em http://localhost:" + port());
+        profiles.forEach((endpoint, profile) -> System.out.println("   /" + endpoint + ": " + profile.describe()));
+        return this;
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        System.out.println("LambdaSimulator: " + summary());
+    }
+
+    /**
+     * Chamadas recebidas (e erros injetados) por endpoint.
+     */
+    public String summary() {
+        StringBuilder summary = new StringBuilder();
+        for (String endpoint : ENDPOINTS) {
+            if (summary.length() > 0) {
+                summary.append(", ");
+            }
+            summary.append(endpoint).append('=').append(requests.get(endpoint).get())
+                    .append(" (").append(errors.get(endpoint).get()).append(" erros)");
+        }
+        return summary.toString();
+    }
+
+    private void handle(String endpoint, HttpExchange exchange) throws IOException {
+        try {
+            requests.get(endpoint).incrementAndGet();
+            JsonNode request;
+            try (InputStream body = exchange.getRequestBody()) {
+                byte[] bytes = body.readAllBytes();
+                request = bytes.length == 0 ? objectMapper.createObjectNode() : objectMapper.readTree(bytes);
+            }
+
+            LatencyProfile profile = profiles.get(endpoint);
+            sleep(profile.nextDelayMillis());
+
+            int errorStatus = profile.nextErrorStatus();
+            if (errorStatus != 0) {
+                errors.get(endpoint).incrementAndGet();
+                respond(exchange, errorStatus, Map.of("message", "Erro simulado"));
+                return;
+            }
+
+            switch (endpoint) {
+                case "generate-questions" -> respond(exchange, 200, generateQuestions(request));
+                case "presigned-url" -> respond(exchange, 200, envelope(presignedUrl(request)));
+                case "upload-urls" -> respond(exchange, 200, uploadUrls(request));
+                case "check-report" -> respond(exchange, 200, checkReport(request));
+                default -> respond(exchange, 404, Map.of("message", "Endpoint desconhecido"));
+            }
+        } catch (Exception e) {
+            System.err.println("ERRO no LambdaSimulator (" + endpoint + "): " + e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Map<String, Object> generateQuestions(JsonNode request) {
+        return Map.of("session_id", "sess-" + request.path("job_report_id").asText(UUID.randomUUID().toString()));
+    }
+
+    private Map<String, Object> presignedUrl(JsonNode request) {
+        if (request.hasNonNull("s3_path")) {
+            String key = request.get("s3_path").asText().replaceFirst("^s3://[^/]+/", "");
+            return Map.of("presigned_url", fakePresignedUrl(key));
+        }
+        String sessionId = request.path("session_id").asText();
+        String key = "sessions/" + sessionId + "/" + request.path("filename").asText("resposta.mp3");
+        return Map.of(
+                "session_id", sessionId,
+                "presigned_url", fakePresignedUrl(key),
+                "s3_key", key,
+                "expires_in", 3600);
+    }
+
+    private Map<String, Object> uploadUrls(JsonNode request) {
+        String sessionId = "sess-" + request.path("job_report_id").asText();
+        int numQuestions = request.path("num_questions").asInt(1);
+        List<Map<String, Object>> urls = new ArrayList<>(numQuestions);
+        for (int i = 0; i < numQuestions; i++) {
+            String key = "sessions/" + sessionId + "/resposta_" + i + ".mp3";
+            urls.add(Map.of("question_index", i, "presigned_url", fakePresignedUrl(key), "s3_key", key));
+        }
+        return Map.of("session_id", sessionId, "expires_in", 3600, "upload_urls", urls);
+    }
+
+    private Map<String, Object> checkReport(JsonNode request) {
+        String sessionId = request.path("session_id").asText();
+        int checks = reportChecks.computeIfAbsent(sessionId, id -> new AtomicInteger()).incrementAndGet();
+        if (checks < reportAfterChecks) {
+            return Map.of("exists", false);
+        }
+        return Map.of("exists", true, "report_url", fakePresignedUrl("reports/" + sessionId + "/report.pdf"));
+    }
+
+    /**
+     * Formato da Function URL: o payload vai serializado como string em "body".
+     */
+    private Map<String, Object> envelope(Map<String, Object> payload) throws IOException {
+        return Map.of(
+                "statusCode", 200,
+                "headers", Map.of("Content-Type", "application/json"),
+                "body", objectMapper.writeValueAsString(payload));
+    }
+
+    private static String fakePresignedUrl(String key) {
+        return "https://" + BUCKET + ".s3.amazonaws.com/" + key
+                + "?X-Amz-Algorithm=AWS4-HMAC-SHA256&X-Amz-Expires=3600&X-Amz-Signature=" + UUID.randomUUID();
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LambdaSimulator simulator = new LambdaSimulator(args).start();
+        Runtime.getRuntime().addShutdownHook(new Thread(simulator::close));
+        Thread.currentThread().join();
+    }
+}
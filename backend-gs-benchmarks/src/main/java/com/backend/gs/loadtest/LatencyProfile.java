@@ -0,0 +1,94 @@
+package com.backend.gs.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Comportamento simulado de uma Lambda: distribuição de latência, taxa de erros e
+ * cold starts.
+ *
+ * Distribuições (chave "latency"):
+ * <ul>
+ *   <li>fixed: sempre median-ms</li>
+ *   <li>uniform: entre min-ms e max-ms</li>
+ *   <li>lognormal: mediana median-ms e p99 p99-ms (cauda longa, como as Lambdas reais)</li>
+ * </ul>
+ * Cold start: a primeira chamada depois de cold-start-idle-ms sem tráfego (e uma
+ * fração cold-start-rate das demais) paga cold-start-ms a mais.
+ */
+final class LatencyProfile {
+
+    /** Quantil 0,99 da normal padrão. */
+    private static final double Z_99 = 2.326;
+
+    private final String distribution;
+    private final long medianMs;
+    private final long minMs;
+    private final long maxMs;
+    private final double sigma;
+    private final double errorRate;
+    private final double throttleRate;
+    private final long coldStartMs;
+    private final double coldStartRate;
+    private final long coldStartIdleMs;
+    private final AtomicLong lastCallAt = new AtomicLong();
+
+    LatencyProfile(HarnessOptions options, String endpoint) {
+        this.distribution = options.get(endpoint, "latency", "lognormal");
+        this.medianMs = options.getLong(endpoint, "median-ms", 50);
+        this.minMs = options.getLong(endpoint, "min-ms", medianMs / 2);
+        this.maxMs = options.getLong(endpoint, "max-ms", medianMs * 2);
+        long p99Ms = options.getLong(endpoint, "p99-ms", medianMs * 4);
+        this.sigma = medianMs > 0 && p99Ms > medianMs ? Math.log((double) p99Ms / medianMs) / Z_99 : 0;
+        this.errorRate = options.getDouble(endpoint, "error-rate", 0);
+        this.throttleRate = options.getDouble(endpoint, "throttle-rate", 0);
+        this.coldStartMs = options.getLong(endpoint, "cold-start-ms", 0);
+        this.coldStartRate = options.getDouble(endpoint, "cold-start-rate", 0);
+        this.coldStartIdleMs = options.getLong(endpoint, "cold-start-idle-ms", 60000);
+    }
+
+    /**
+     * Latência desta chamada, já somando o cold start se for o caso.
+     */
+    long nextDelayMillis() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delay = switch (distribution) {
+            case "fixed" -> medianMs;
+            case "uniform" -> maxMs > minMs ? random.nextLong(minMs, maxMs + 1) : minMs;
+            case "lognormal" -> Math.round(medianMs * Math.exp(sigma * random.nextGaussian()));
+            default -> throw new IllegalArgumentException("Distribuição desconhecida: " + distribution);
+        };
+
+        long now = System.currentTimeMillis();
+        long previous = lastCallAt.getAndSet(now);
+        boolean idle = previous == 0 || now - previous >= coldStartIdleMs;
+        if (coldStartMs > 0 && (idle || random.nextDouble() < coldStartRate)) {
+            delay += coldStartMs;
+        }
+        return Math.max(0, delay);
+    }
+
+    /**
+     * Status HTTP de erro sorteado para esta chamada, ou 0 para responder normalmente.
+     */
+    int nextErrorStatus() {
+        double roll = ThreadLocalRandom.current().nextDouble();
+        if (roll < errorRate) {
+            return 503;
+        }
+        if (roll < errorRate + throttleRate) {
+            return 429;
+        }
+        return 0;
+    }
+
+    String describe() {
+        String latency = switch (distribution) {
+            case "uniform" -> "uniform " + minMs + "-" + maxMs + "ms";
+            case "lognormal" -> "lognormal mediana " + medianMs + "ms, p99 ~" + Math.round(medianMs * Math.exp(sigma * Z_99)) + "ms";
+            default -> distribution + " " + medianMs + "ms";
+        };
+        return latency + ", erros " + errorRate + ", throttling " + throttleRate
+                + (coldStartMs > 0 ? ", cold start +" + coldStartMs + "ms" : "");
+    }
+}
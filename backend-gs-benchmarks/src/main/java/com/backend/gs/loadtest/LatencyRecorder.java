@@ -0,0 +1,94 @@
+package com.backend.gs.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latências por operação (register, login, create, ...). Guarda todas as amostras
+ * em microssegundos e calcula os percentis no fim; para as durações do harness
+ * (milhares a poucos milhões de requests) isso cabe folgado em memória.
+ */
+final class LatencyRecorder {
+
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+    private final List<String> order = new ArrayList<>();
+
+    void record(String operation, long startNanos, boolean success) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        operations.computeIfAbsent(operation, this::newOperation).add(micros, success);
+    }
+
+    private synchronized Operation newOperation(String name) {
+        order.add(name);
+        return new Operation();
+    }
+
+    /**
+     * Resumo por operação (mais "total"), na ordem em que apareceram.
+     */
+    synchronized Map<String, Summary> summarize(long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        Map<String, Summary> summaries = new LinkedHashMap<>();
+        List<long[]> all = new ArrayList<>();
+        long totalErrors = 0;
+        for (String name : order) {
+            Operation operation = operations.get(name);
+            long[] samples = operation.samples();
+            all.add(samples);
+            totalErrors += operation.errors.get();
+            summaries.put(name, Summary.of(samples, operation.errors.get(), seconds));
+        }
+
+        long[] merged = all.stream().flatMapToLong(Arrays::stream).toArray();
+        summaries.put("total", Summary.of(merged, totalErrors, seconds));
+        return summaries;
+    }
+
+    private static final class Operation {
+
+        private long[] samples = new long[1024];
+        private int size;
+        private final AtomicLong errors = new AtomicLong();
+
+        synchronized void add(long micros, boolean success) {
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = micros;
+            if (!success) {
+                errors.incrementAndGet();
+            }
+        }
+
+        synchronized long[] samples() {
+            return Arrays.copyOf(samples, size);
+        }
+    }
+
+    record Summary(long count, long errors, double throughput,
+                   double p50Ms, double p90Ms, double p99Ms, double maxMs) {
+
+        static Summary of(long[] samples, long errors, double seconds) {
+            Arrays.sort(samples);
+            return new Summary(samples.length, errors,
+                    seconds > 0 ? samples.length / seconds : 0,
+                    percentile(samples, 0.50), percentile(samples, 0.90), percentile(samples, 0.99),
+                    samples.length == 0 ? 0 : samples[samples.length - 1] / 1000.0);
+        }
+
+        /** Percentil pelo método nearest-rank, em milissegundos. */
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return sorted[Math.max(0, rank - 1)] / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.backend.gs.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carga de ponta a ponta contra um backend rodando (perfil h2 + LambdaSimulator).
+ *
+ * Cada usuário virtual faz register e login e, para cada job: create, pedido das
+ * URLs de upload, callback audios-ready, polls de status, callback report-ready e polls até REPORT_READY.
+ * No fim imprime vazão e percentis de latência por operação e, com --out, grava o
+ * mesmo resumo em JSON.
+ *
+ * Uso: java -cp target/benchmarks.jar com.backend.gs.loadtest.LoadTest --users=20 --jobs=10 --simulator
+ */
+public class LoadTest {
+
+    private static final String DESCRIPTION = "Vaga para desenvolvedor backend Java com Spring Boot, JDBC, "
+            + "Oracle/PostgreSQL e integração com AWS Lambda e S3.";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final int users;
+    private final int jobsPerUser;
+    private final int questions;
+    private final int audios;
+    private final int polls;
+    private final long pollIntervalMs;
+    private final int maxReportPolls;
+    private final boolean async;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    LoadTest(HarnessOptions options) {
+        this.baseUrl = options.get("base-url", "http://localhost:8080");
+        this.users = options.getInt("users", 10);
+        this.jobsPerUser = options.getInt("jobs", 5);
+        this.questions = options.getInt("questions", 5);
+        this.audios = options.getInt("audios", 5);
+        this.polls = options.getInt("polls", 5);
+        this.pollIntervalMs = options.getLong("poll-interval-ms", 200);
+        this.maxReportPolls = options.getInt("max-report-polls", 50);
+        this.async = options.getBoolean("async", false);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Math.max(4, users)))
+                .build();
+    }
+
+    Map<String, LatencyRecorder.Summary> run() throws Exception {
+        System.out.println("🚀 Carga em " + baseUrl + ": " + users + " usuário(s) x " + jobsPerUser
+                + " job(s), " + audios + " áudio(s), " + polls + " poll(s)" + (async ? ", create assíncrono" : ""));
+
+        ExecutorService workers = Executors.newFixedThreadPool(users);
+        long start = System.nanoTime();
+        List<Future<?>> running = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            int user = i;
+            running.add(workers.submit(() -> {
+                virtualUser(user);
+                return null;
+            }));
+        }
+        for (Future<?> future : running) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        workers.shutdown();
+
+        Map<String, LatencyRecorder.Summary> summary = recorder.summarize(elapsed);
+        print(summary, elapsed);
+        return summary;
+    }
+
+    private void virtualUser(int user) {
+        String username = "load-" + runId + "-" + user;
+        String password = "secret123";
+        try {
+            call("register", post("/api/auth/register", null, Map.of(
+                    "username", username, "email", username + "@viewin.dev", "password", password)));
+            JsonNode login = call("login", post("/api/auth/login", null, Map.of(
+                    "username", username, "password", password)));
+            String token = login == null ? null : login.path("token").asText(null);
+            if (token == null) {
+                System.err.println("⚠️ " + username + " sem token; usuário abandonado");
+                return;
+            }
+
+            for (int job = 0; job < jobsPerUser; job++) {
+                runJob(token, user, job);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runJob(String token, int user, int job) throws InterruptedException {
+        Map<String, Object> create = new LinkedHashMap<>();
+        create.put("company", "Empresa " + user);
+        create.put("title", "Desenvolvedor Backend " + job);
+        create.put("description", DESCRIPTION);
+        create.put("callbackUrl", baseUrl + "/api/jobReport/callback");
+        JsonNode created = call("create", post("/api/jobReport/create" + (async ? "?async=true" : ""), token, create));
+        if (created == null || !created.hasNonNull("job_report_id")) {
+            return;
+        }
+        long jobReportId = created.get("job_report_id").asLong();
+        String sessionId = created.path("session_id").asText("sess-" + jobReportId);
+
+        call("upload-urls", post("/api/jobReport/generate-upload-urls", token, Map.of(
+                "jobReportId", jobReportId, "numQuestions", questions)));
+
+        List<String> audioFiles = new ArrayList<>();
+        for (int i = 0; i < audios; i++) {
+            audioFiles.add("s3://interview-ai-assets/sessions/" + sessionId + "/audio_" + i + ".mp3");
+        }
+        call("callback.audios-ready", post("/api/jobReport/callback/audios-ready", null, Map.of(
+                "job_report_id", jobReportId, "session_id", sessionId, "audio_files", audioFiles)));
+
+        for (int i = 0; i < polls; i++) {
+            call("status", get("/api/jobReport/status/" + jobReportId, token));
+            Thread.sleep(pollIntervalMs);
+        }
+
+        call("callback.report-ready", post("/api/jobReport/callback/report-ready", null, Map.of(
+                "job_report_id", jobReportId, "session_id", sessionId,
+                "report_url", "https://interview-ai-assets.s3.amazonaws.com/reports/" + sessionId + "/report.pdf")));
+
+        for (int i = 0; i < maxReportPolls; i++) {
+            JsonNode status = call("status", get("/api/jobReport/status/" + jobReportId, token));
+            if (status != null && "REPORT_READY".equals(status.path("status").asText())) {
+                return;
+            }
+            Thread.sleep(pollIntervalMs);
+        }
+        System.err.println("⚠️ Job report " + jobReportId + " não chegou a REPORT_READY");
+    }
+
+    private HttpRequest post(String path, String token, Object body) {
+        try {
+            return request(path, token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (Exception e) {
+            throw new IllegalStateException("Falha ao serializar request de " + path, e);
+        }
+    }
+
+    private HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    /**
+     * Executa e registra a latência; devolve o corpo JSON de respostas 2xx (ou null).
+     */
+    private JsonNode call(String operation, HttpRequest request) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            boolean success = response.statusCode() >= 200 && response.statusCode() < 300;
+            recorder.record(operation, start, success);
+            if (!success || response.body().length == 0) {
+                return null;
+            }
+            return objectMapper.readTree(response.body());
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            recorder.record(operation, start, false);
+            return null;
+        }
+    }
+
+    private static void print(Map<String, LatencyRecorder.Summary> summary, long elapsedNanos) {
+        System.out.printf("%nDuração: %.1fs%n", elapsedNanos / 1e9);
+        System.out.printf("%-24s %8s %7s %9s %9s %9s %9s %9s%n",
+                "operação", "reqs", "erros", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        summary.forEach((operation, s) -> System.out.printf("%-24s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                operation, s.count(), s.errors(), s.throughput(), s.p50Ms(), s.p90Ms(), s.p99Ms(), s.maxMs()));
+    }
+
+    public static void main(String[] args) throws Exception {
+        HarnessOptions options = new HarnessOptions(args);
+
+        // --simulator sobe o LambdaSimulator neste processo (as opções de latência valem para ele)
+        LambdaSimulator simulator = options.getBoolean("simulator", false)
+                ? new LambdaSimulator(options).start()
+                : null;
+        try {
+            Map<String, LatencyRecorder.Summary> summary = new LoadTest(options).run();
+
+            String out = options.get("out", null);
+            if (out != null) {
+                ObjectMapper writer = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+                File file = new File(out);
+                if (file.getParentFile() != null) {
+                    file.getParentFile().mkdirs();
+                }
+                writer.writeValue(file, summary);
+                System.out.println("Resultado salvo em " + file.getPath());
+            }
+        } finally {
+            if (simulator != null) {
+                simulator.close();
+            }
+        }
+        System.exit(0);
+    }
+}
@@ -0,0 +1,93 @@
+package com.backend.gs.client;
+
+/**
+ * Circuit breaker simples por endpoint.
+ *
+ * Depois de {@code failureThreshold} falhas seguidas o circuito abre e as chamadas
+ * falham na hora durante {@code openMillis}. Passado esse tempo uma única chamada de
+ * teste é liberada (meio-aberto): se der certo o circuito fecha, senão abre de novo.
+ */
+class CircuitBreaker {
+
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    CircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    /**
+     * Reserva a chamada. Toda reserva bem-sucedida deve terminar em
+     * {@link #onSuccess()}, {@link #onFailure()} ou {@link #release()}.
+     */
+    synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.currentTimeMillis() - openedAt < openMillis) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                probeInFlight = true;
+                return true;
+            default:
+                if (probeInFlight) {
+                    return false;
+                }
+                probeInFlight = true;
+                return true;
+        }
+    }
+
+    /**
+     * true se uma chamada agora seria liberada (sem reservar).
+     */
+    synchronized boolean isCallPermitted() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                return System.currentTimeMillis() - openedAt >= openMillis;
+            default:
+                return !probeInFlight;
+        }
+    }
+
+    synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        probeInFlight = false;
+    }
+
+    synchronized void onFailure() {
+        probeInFlight = false;
+        if (state == State.HALF_OPEN || ++consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Libera a reserva sem contar sucesso nem falha (ex.: thread interrompida).
+     */
+    synchronized void release() {
+        probeInFlight = false;
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+}
@@ -0,0 +1,290 @@
+package com.backend.gs.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cliente HTTP único para todas as Lambdas. Um só HttpClient (HTTP/2 quando
+ * disponível) reaproveita conexões/TLS entre chamadas, com executor próprio,
+ * timeouts por endpoint e desligamento controlado.
+ *
+ * Cada endpoint tem ainda seu próprio bulkhead (máximo de chamadas simultâneas),
+ * retry com backoff exponencial e jitter para falhas de rede/5xx/429 e um circuit
+ * breaker: com o circuito aberto a chamada falha na hora com
+ * {@link LambdaUnavailableException} em vez de prender a thread do request.
+ */
+@Component
+public class LambdaClient {
+
+    @Value("${lambda.url:https://lv6bwqn7dfkqulrqquhlz3fhdy0zuzbx.lambda-url.us-east-1.on.aws/}")
+    private String lambdaUrl;
+
+    @Value("${lambda.presigned.url:https://6t7s4lvjy7aohaxruak6a3arfy0byiau.lambda-url.us-east-1.on.aws/}")
+    private String lambdaPresignedUrl;
+
+    @Value("${lambda.upload.urls:https://mcy4uuho2gkb3ey3f5fz3cko2a0kmcgl.lambda-url.us-east-1.on.aws/}")
+    private String lambdaUploadUrlsUrl;
+
+    @Value("${lambda.check.report.url:}")
+    private String lambdaCheckReportUrl;
+
+    @Value("${lambda.http.threads:8}")
+    private int threads;
+
+    @Value("${lambda.http.connect-timeout-ms:3000}")
+    private long connectTimeoutMs;
+
+    @Value("${lambda.http.shutdown-timeout-ms:5000}")
+    private long shutdownTimeoutMs;
+
+    @Value("${lambda.timeout.generate-questions-ms:60000}")
+    private long generateQuestionsTimeoutMs;
+
+    @Value("${lambda.timeout.presigned-url-ms:5000}")
+    private long presignedUrlTimeoutMs;
+
+    @Value("${lambda.timeout.upload-urls-ms:10000}")
+    private long uploadUrlsTimeoutMs;
+
+    @Value("${lambda.timeout.check-report-ms:5000}")
+    private long checkReportTimeoutMs;
+
+    @Value("${lambda.bulkhead.max-wait-ms:0}")
+    private long bulkheadMaxWaitMs;
+
+    @Value("${lambda.retry.initial-backoff-ms:100}")
+    private long retryInitialBackoffMs;
+
+    @Value("${lambda.retry.max-backoff-ms:1000}")
+    private long retryMaxBackoffMs;
+
+    @Value("${lambda.breaker.failure-threshold:5}")
+    private int breakerFailureThreshold;
+
+    @Value("${lambda.breaker.open-ms:30000}")
+    private long breakerOpenMs;
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<LambdaEndpoint, URI> uris = new EnumMap<>(LambdaEndpoint.class);
+    private final Map<LambdaEndpoint, Duration> timeouts = new EnumMap<>(LambdaEndpoint.class);
+    private final Map<LambdaEndpoint, Guard> guards = new EnumMap<>(LambdaEndpoint.class);
+
+    private ExecutorService executor;
+    private HttpClient httpClient;
+
+    public LambdaClient(Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+    }
+
+    @PostConstruct
+    public void init() {
+        register(LambdaEndpoint.GENERATE_QUESTIONS, lambdaUrl, generateQuestionsTimeoutMs);
+        register(LambdaEndpoint.PRESIGNED_URL, lambdaPresignedUrl, presignedUrlTimeoutMs);
+        register(LambdaEndpoint.UPLOAD_URLS, lambdaUploadUrlsUrl, uploadUrlsTimeoutMs);
+        register(LambdaEndpoint.CHECK_REPORT, lambdaCheckReportUrl, checkReportTimeoutMs);
+
+        executor = Executors.newFixedThreadPool(threads, new NamedThreadFactory("lambda-http-"));
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .executor(executor)
+                .build();
+    }
+
+    private void register(LambdaEndpoint endpoint, String url, long timeoutMs) {
+        if (url != null && !url.isBlank()) {
+            uris.put(endpoint, URI.create(url));
+        }
+        timeouts.put(endpoint, Duration.ofMillis(timeoutMs));
+
+        // GENERATE_QUESTIONS e UPLOAD_URLS criam sessão na Lambda: sem retry aqui
+        // (o outbox já reenvia GENERATE_QUESTIONS com backoff)
+        int defaultAttempts = endpoint == LambdaEndpoint.PRESIGNED_URL || endpoint == LambdaEndpoint.CHECK_REPORT ? 2 : 1;
+        Guard guard = new Guard(
+                new Semaphore(environment.getProperty("lambda.bulkhead." + endpoint.getKey(), Integer.class, 16)),
+                new CircuitBreaker(breakerFailureThreshold, breakerOpenMs),
+                Math.max(1, environment.getProperty("lambda.retry." + endpoint.getKey() + ".max-attempts", Integer.class, defaultAttempts)),
+                Counter.builder("lambda.calls.rejected").tag("endpoint", endpoint.getKey()).tag("reason", "breaker_open")
+                        .description("Chamadas recusadas sem ir à Lambda").register(meterRegistry),
+                Counter.builder("lambda.calls.rejected").tag("endpoint", endpoint.getKey()).tag("reason", "bulkhead_full")
+                        .description("Chamadas recusadas sem ir à Lambda").register(meterRegistry));
+        guards.put(endpoint, guard);
+
+        Gauge.builder("lambda.circuit.state", guard.breaker(), breaker -> breaker.getState().ordinal())
+                .tag("endpoint", endpoint.getKey())
+                .description("Estado do circuit breaker: 0=fechado, 1=aberto, 2=meio-aberto")
+                .register(meterRegistry);
+        Gauge.builder("lambda.bulkhead.available", guard.bulkhead(), Semaphore::availablePermits)
+                .tag("endpoint", endpoint.getKey())
+                .description("Vagas livres no bulkhead do endpoint")
+                .register(meterRegistry);
+    }
+
+    public boolean isConfigured(LambdaEndpoint endpoint) {
+        return uris.containsKey(endpoint);
+    }
+
+    /**
+     * true se o endpoint está configurado e o circuit breaker liberaria uma chamada agora.
+     * Permite degradar (pular a chamada) antes de montar o request.
+     */
+    public boolean isAvailable(LambdaEndpoint endpoint) {
+        return isConfigured(endpoint) && guards.get(endpoint).breaker().isCallPermitted();
+    }
+
+    /**
+     * POST com corpo JSON para a Lambda, usando o timeout configurado para o endpoint,
+     * dentro do bulkhead, do circuit breaker e do retry do endpoint.
+     *
+     * @throws LambdaUnavailableException se o circuito estiver aberto ou o bulkhead cheio
+     */
+    public <T> HttpResponse<T> post(LambdaEndpoint endpoint, String jsonBody, HttpResponse.BodyHandler<T> bodyHandler)
+            throws IOException, InterruptedException {
+        URI uri = uris.get(endpoint);
+        if (uri == null) {
+            throw new IllegalStateException("Lambda " + endpoint + " não configurada");
+        }
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(uri)
+                .timeout(timeouts.get(endpoint))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
+                .build();
+
+        Guard guard = guards.get(endpoint);
+        if (!guard.bulkhead().tryAcquire(bulkheadMaxWaitMs, TimeUnit.MILLISECONDS)) {
+            guard.bulkheadRejected().increment();
+            throw new LambdaUnavailableException(endpoint, "limite de chamadas simultâneas atingido");
+        }
+        try {
+            for (int attempt = 1; ; attempt++) {
+                if (!guard.breaker().tryAcquire()) {
+                    guard.breakerRejected().increment();
+                    throw new LambdaUnavailableException(endpoint, "circuit breaker aberto");
+                }
+
+                HttpResponse<T> response;
+                try {
+                    response = httpClient.send(request, bodyHandler);
+                } catch (InterruptedException e) {
+                    guard.breaker().release();
+                    throw e;
+                } catch (IOException e) {
+                    guard.breaker().onFailure();
+                    if (attempt >= guard.maxAttempts()) {
+                        throw e;
+                    }
+                    Thread.sleep(retryBackoffMillis(attempt));
+                    continue;
+                }
+
+                if (!isServerFailure(response.statusCode())) {
+                    // 2xx/4xx: a Lambda está de pé, mesmo que tenha recusado o pedido
+                    guard.breaker().onSuccess();
+                    return response;
+                }
+                guard.breaker().onFailure();
+                if (attempt >= guard.maxAttempts()) {
+                    return response;
+                }
+                // A resposta descartada ainda segura a conexão do pool: libera antes de tentar de novo
+                discard(response);
+                Thread.sleep(retryBackoffMillis(attempt));
+            }
+        } finally {
+            guard.bulkhead().release();
+        }
+    }
+
+    /**
+     * Fecha o corpo de uma resposta que não vai ser lida (InputStream, Stream de
+     * linhas...). Corpos já materializados (String, byte[]) não têm o que fechar.
+     */
+    private static void discard(HttpResponse<?> response) {
+        if (response.body() instanceof AutoCloseable body) {
+            try {
+                body.close();
+            } catch (Exception e) {
+                // Só liberando a conexão: erro aqui não muda o retry
+            }
+        }
+    }
+
+    private static boolean isServerFailure(int statusCode) {
+        return statusCode == 429 || statusCode >= 500;
+    }
+
+    /**
+     * Backoff exponencial com "equal jitter" entre tentativas do mesmo request.
+     */
+    private long retryBackoffMillis(int attempt) {
+        long delay = Math.min(retryMaxBackoffMs, retryInitialBackoffMs << Math.min(attempt - 1, 20));
+        long half = delay / 2;
+        return half + ThreadLocalRandom.current().nextLong(half + 1);
+    }
+
+    public HttpResponse<String> post(LambdaEndpoint endpoint, String jsonBody) throws IOException, InterruptedException {
+        return post(endpoint, jsonBody, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(shutdownTimeoutMs, TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Guard(Semaphore bulkhead, CircuitBreaker breaker, int maxAttempts,
+                         Counter breakerRejected, Counter bulkheadRejected) {
+    }
+
+    private static class NamedThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger counter = new AtomicInteger();
+
+        NamedThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
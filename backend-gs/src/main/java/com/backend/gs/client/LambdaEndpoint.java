@@ -0,0 +1,33 @@
+package com.backend.gs.client;
+
+/**
+ * Lambdas (Function URLs) chamadas pelo backend.
+ */
+public enum LambdaEndpoint {
+
+    /** lambda.url - gera as perguntas/áudios da entrevista */
+    GENERATE_QUESTIONS("generate-questions"),
+
+    /** lambda.presigned.url - presigned URLs de download/upload */
+    PRESIGNED_URL("presigned-url"),
+
+    /** lambda.upload.urls - presigned URLs de upload de todas as respostas */
+    UPLOAD_URLS("upload-urls"),
+
+    /** lambda.check.report.url - verifica se o relatório já foi gerado */
+    CHECK_REPORT("check-report");
+
+    private final String key;
+
+    LambdaEndpoint(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Nome usado nas propriedades por endpoint (lambda.timeout.{key}-ms, lambda.bulkhead.{key}...)
+     * e na tag "endpoint" das métricas.
+     */
+    public String getKey() {
+        return key;
+    }
+}
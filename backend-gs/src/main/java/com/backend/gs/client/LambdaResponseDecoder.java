@@ -0,0 +1,112 @@
+package com.backend.gs.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decodifica as respostas das Lambdas direto do InputStream para os records de
+ * {@link LambdaResponses}, com ObjectReaders pré-compilados a partir do ObjectMapper
+ * do Spring.
+ *
+ * Aceita os dois formatos numa única leitura: o envelope da Function URL
+ * ({"statusCode": 200, "body": "..."} com body em string ou objeto) e o JSON puro.
+ * Os campos de topo lidos antes de achar "body" ficam num TokenBuffer (tokens, sem
+ * árvore nem String) e, se não houver "body", são eles que viram o payload.
+ */
+@Component
+public class LambdaResponseDecoder {
+
+    private static final String BODY_FIELD = "body";
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader generateQuestionsReader;
+    private final ObjectReader presignedDownloadReader;
+    private final ObjectReader presignedUploadReader;
+    private final ObjectReader uploadUrlsReader;
+    private final ObjectReader checkReportReader;
+
+    public LambdaResponseDecoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.generateQuestionsReader = objectMapper.readerFor(LambdaResponses.GenerateQuestions.class);
+        this.presignedDownloadReader = objectMapper.readerFor(LambdaResponses.PresignedDownload.class);
+        this.presignedUploadReader = objectMapper.readerFor(LambdaResponses.PresignedUpload.class);
+        this.uploadUrlsReader = objectMapper.readerFor(LambdaResponses.UploadUrls.class);
+        this.checkReportReader = objectMapper.readerFor(LambdaResponses.CheckReport.class);
+    }
+
+    public LambdaResponses.GenerateQuestions generateQuestions(InputStream in) throws IOException {
+        return decode(in, generateQuestionsReader);
+    }
+
+    public LambdaResponses.PresignedDownload presignedDownload(InputStream in) throws IOException {
+        return decode(in, presignedDownloadReader);
+    }
+
+    public LambdaResponses.PresignedUpload presignedUpload(InputStream in) throws IOException {
+        return decode(in, presignedUploadReader);
+    }
+
+    public LambdaResponses.UploadUrls uploadUrls(InputStream in) throws IOException {
+        return decode(in, uploadUrlsReader);
+    }
+
+    public LambdaResponses.CheckReport checkReport(InputStream in) throws IOException {
+        return decode(in, checkReportReader);
+    }
+
+    /**
+     * Lê o corpo inteiro como texto; só para mensagens de erro (respostas não-200).
+     */
+    public static String errorBody(HttpResponse<InputStream> response) {
+        try (InputStream in = response.body()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return "<corpo ilegível: " + e.getMessage() + ">";
+        }
+    }
+
+    private <T> T decode(InputStream in, ObjectReader reader) throws IOException {
+        try (InputStream body = in;
+             JsonParser parser = reader.createParser(body)) {
+
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Resposta da Lambda não é um objeto JSON");
+            }
+
+            TokenBuffer topLevel = new TokenBuffer(parser, null);
+            topLevel.writeStartObject();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                if (BODY_FIELD.equals(field)) {
+                    if (value == JsonToken.VALUE_STRING) {
+                        // Function URL: o payload vem serializado como string JSON
+                        return reader.readValue(parser.getText());
+                    }
+                    if (value == JsonToken.START_OBJECT) {
+                        return reader.readValue(parser);
+                    }
+                }
+
+                topLevel.writeFieldName(field);
+                topLevel.copyCurrentStructure(parser);
+            }
+            topLevel.writeEndObject();
+
+            // Sem envelope: os campos de topo são o próprio payload
+            try (JsonParser buffered = topLevel.asParser(objectMapper)) {
+                return reader.readValue(buffered);
+            }
+        }
+    }
+}
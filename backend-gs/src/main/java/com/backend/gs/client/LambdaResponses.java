@@ -0,0 +1,53 @@
+package com.backend.gs.client;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Payloads tipados das respostas das Lambdas (já sem o envelope {statusCode, body}).
+ * Campos desconhecidos são ignorados para a Lambda poder evoluir sem quebrar o backend.
+ */
+public final class LambdaResponses {
+
+    private LambdaResponses() {
+    }
+
+    /** GENERATE_QUESTIONS */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record GenerateQuestions(@JsonProperty("session_id") String sessionId) {
+    }
+
+    /** PRESIGNED_URL com s3_path (download) */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record PresignedDownload(@JsonProperty("presigned_url") String presignedUrl) {
+    }
+
+    /** PRESIGNED_URL com session_id/filename (upload) */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record PresignedUpload(@JsonProperty("session_id") String sessionId,
+                                  @JsonProperty("presigned_url") String presignedUrl,
+                                  @JsonProperty("s3_key") String s3Key,
+                                  @JsonProperty("expires_in") Integer expiresIn) {
+    }
+
+    /** UPLOAD_URLS */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record UploadUrls(@JsonProperty("session_id") String sessionId,
+                             @JsonProperty("expires_in") Integer expiresIn,
+                             @JsonProperty("upload_urls") List<UploadUrl> uploadUrls) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record UploadUrl(@JsonProperty("question_index") int questionIndex,
+                            @JsonProperty("presigned_url") String presignedUrl,
+                            @JsonProperty("s3_key") String s3Key) {
+    }
+
+    /** CHECK_REPORT */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record CheckReport(@JsonProperty("exists") boolean exists,
+                              @JsonProperty("report_url") String reportUrl) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.backend.gs.client;
+
+import java.io.IOException;
+
+/**
+ * A chamada nem foi feita: circuit breaker aberto ou bulkhead do endpoint cheio.
+ */
+public class LambdaUnavailableException extends IOException {
+
+    private final LambdaEndpoint endpoint;
+
+    public LambdaUnavailableException(LambdaEndpoint endpoint, String reason) {
+        super("Lambda " + endpoint + " indisponível: " + reason);
+        this.endpoint = endpoint;
+    }
+
+    public LambdaEndpoint getEndpoint() {
+        return endpoint;
+    }
+}
@@ -4,11 +4,20 @@ import com.backend.gs.dto.AuthResponse;
 import com.backend.gs.dto.LoginRequest;
 import com.backend.gs.dto.RegisterRequest;
 import com.backend.gs.service.AuthService;
+import com.backend.gs.service.PasswordHashingBusyException;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Os endpoints devolvem CompletableFuture: a thread do Tomcat é liberada enquanto
+ * o BCrypt roda no PasswordHasher. Com o pool do hash saturado a resposta é 503.
+ */
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "*")
@@ -21,20 +30,30 @@ public class AuthController {
     }
 
     @PostMapping("/register")
-    public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request) {
-        AuthResponse response = authService.register(request);
-
-        return response.isSuccess()
-                ? ResponseEntity.status(HttpStatus.CREATED).body(response)
-                : ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    public CompletableFuture<ResponseEntity<AuthResponse>> register(@Valid @RequestBody RegisterRequest request) {
+        return authService.register(request)
+                .thenApply(response -> response.isSuccess()
+                        ? ResponseEntity.status(HttpStatus.CREATED).body(response)
+                        : ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response))
+                .exceptionally(AuthController::busy);
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
-        AuthResponse response = authService.login(request);
+    public CompletableFuture<ResponseEntity<AuthResponse>> login(@Valid @RequestBody LoginRequest request) {
+        return authService.login(request)
+                .thenApply(response -> response.isSuccess()
+                        ? ResponseEntity.ok(response)
+                        : ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response))
+                .exceptionally(AuthController::busy);
+    }
 
-        return response.isSuccess()
-                ? ResponseEntity.ok(response)
-                : ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+    private static ResponseEntity<AuthResponse> busy(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof PasswordHashingBusyException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(new AuthResponse("Muitas autenticações simultâneas, tente novamente em instantes", false));
+        }
+        throw error instanceof CompletionException completion ? completion : new CompletionException(cause);
     }
 }
@@ -5,20 +5,30 @@ import com.backend.gs.dto.GenerateUploadUrlsRequest;
 import com.backend.gs.dto.GenerateUploadUrlsResponse;
 import com.backend.gs.dto.JobReportRequest;
 import com.backend.gs.dto.JobReportResponse;
+import com.backend.gs.dto.JobReportStatusBatchRequest;
+import com.backend.gs.dto.JobReportStatusBatchResponse;
 import com.backend.gs.dto.JobReportStatusResponse;
 import com.backend.gs.dto.PresignedUrlResponse;
 import com.backend.gs.dto.PresignedUploadUrlRequest;
 import com.backend.gs.dto.PresignedUploadUrlResponse;
 import com.backend.gs.dto.ReportReadyCallback;
+import com.backend.gs.model.AuthenticatedUser;
 import com.backend.gs.service.JobReportService;
-import com.backend.gs.service.JwtService;
-import jakarta.servlet.http.HttpServletRequest;
+import com.backend.gs.service.JobStatusNotifier;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.net.URI;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,27 +38,45 @@ import java.util.Map;
 public class JobReportController {
 
     private final JobReportService service;
-    private final JwtService jwtService;
+    private final JobStatusNotifier statusNotifier;
 
-    public JobReportController(JobReportService service, JwtService jwtService) {
+    @Value("${job.create.async:false}")
+    private boolean createAsyncByDefault;
+
+    @Value("${status.long-poll.default-timeout-seconds:30}")
+    private long longPollDefaultSeconds;
+
+    @Value("${status.long-poll.max-timeout-seconds:60}")
+    private long longPollMaxSeconds;
+
+    @Value("${jobreport.list.default-limit:20}")
+    private int listDefaultLimit;
+
+    @Value("${jobreport.list.max-limit:100}")
+    private int listMaxLimit;
+
+    public JobReportController(JobReportService service, JobStatusNotifier statusNotifier) {
         this.service = service;
-        this.jwtService = jwtService;
+        this.statusNotifier = statusNotifier;
     }
 
     @PostMapping("/create")
-    public ResponseEntity<?> create(@RequestBody @Valid JobReportRequest request, HttpServletRequest httpRequest) {
+    public ResponseEntity<?> create(@RequestBody @Valid JobReportRequest request,
+                                    @RequestParam(required = false) Boolean async,
+                                    @AuthenticationPrincipal AuthenticatedUser user) {
         try {
-            // Extrai o token JWT do header Authorization
-            String authHeader = httpRequest.getHeader("Authorization");
-            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-                return ResponseEntity.status(401).body("Authorization token is required");
+            // Principal montado pelo JwtAuthenticationFilter com o token já verificado
+            if (user == null) {
+                return ResponseEntity.status(401).body("Invalid or expired token");
             }
+            Long userId = user.userId();
 
-            String token = authHeader.substring(7);
-            Long userId = jwtService.extractUserId(token);
-            
-            if (userId == null) {
-                return ResponseEntity.status(401).body("Invalid or expired token");
+            // Assíncrono: 202 com o id e o link de status; a Lambda é chamada em background
+            if (async != null ? async : createAsyncByDefault) {
+                JobReportResponse response = service.createJobReportAsync(request, userId);
+                String statusUrl = "/api/jobReport/status/" + response.getJobReportId();
+                response.setStatusUrl(statusUrl);
+                return ResponseEntity.accepted().location(URI.create(statusUrl)).body(response);
             }
 
             JobReportResponse response = service.createJobReport(request, userId);
@@ -59,6 +87,32 @@ public class JobReportController {
         }
     }
 
+    /**
+     * Job reports do usuário autenticado, mais novos primeiro, paginados por keyset:
+     * a próxima página é ?after=<next_after da resposta anterior>.
+     */
+    @GetMapping("/mine")
+    public ResponseEntity<?> listMine(@RequestParam(required = false) Long after,
+                                      @RequestParam(required = false) Integer limit,
+                                      @AuthenticationPrincipal AuthenticatedUser user) {
+        try {
+            if (user == null) {
+                return ResponseEntity.status(401).body("Invalid or expired token");
+            }
+
+            if (limit != null && limit <= 0) {
+                return ResponseEntity.badRequest().body("limit must be positive");
+            }
+            int pageSize = limit == null ? listDefaultLimit : Math.min(limit, listMaxLimit);
+
+            return ResponseEntity.ok(service.listByUser(user.userId(), after, pageSize));
+        } catch (Exception e) {
+            System.err.println("❌ ERRO ao listar job reports: " + e.getMessage());
+            e.printStackTrace();
+            return ResponseEntity.status(500).body("Error listing job reports: " + e.getMessage());
+        }
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, String>> handleValidationExceptions(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
@@ -89,20 +143,13 @@ public class JobReportController {
                 return ResponseEntity.badRequest().body("job_report_id is required");
             }
 
-            // Atualiza session_id se fornecido
-            if (callback.getSessionId() != null) {
-                System.out.println("Atualizando session_id para job report " + jobReportId);
-                service.updateSessionId(jobReportId, callback.getSessionId());
-            }
-
-            // Salva os paths dos áudios
+            // Atualiza session_id e salva os paths dos áudios na mesma transação
             if (callback.getAudioFiles() != null && !callback.getAudioFiles().isEmpty()) {
                 System.out.println("Salvando " + callback.getAudioFiles().size() + " áudios para job report " + jobReportId);
-                service.saveAudioPaths(jobReportId, callback.getAudioFiles());
-                System.out.println("Áudios salvos com sucesso!");
             } else {
                 System.out.println("AVISO: Nenhum áudio recebido no callback");
             }
+            service.saveAudioPaths(jobReportId, callback.getSessionId(), callback.getAudioFiles());
 
             System.out.println("=== CALLBACK PROCESSADO COM SUCESSO ===");
             return ResponseEntity.ok().build();
@@ -136,6 +183,7 @@ public class JobReportController {
                 service.updateReportUrl(jobReportId, callback.getReportUrl());
                 System.out.println("✅ Report URL salva no banco!");
             }
+            service.invalidateReportCheck(callback.getSessionId());
 
             return ResponseEntity.ok().build();
         } catch (Exception e) {
@@ -163,6 +211,85 @@ public class JobReportController {
         }
     }
 
+    /**
+     * Status de várias entregas numa chamada só (dashboard). Ids inexistentes ou com
+     * falha voltam em "errors" e não afetam os demais.
+     */
+    @PostMapping("/status/batch")
+    public ResponseEntity<JobReportStatusBatchResponse> getStatusBatch(@RequestBody @Valid JobReportStatusBatchRequest request) {
+        try {
+            JobReportStatusBatchResponse response = service.getStatuses(request.getIds());
+            System.out.println("🔍 POST /status/batch: " + response.getStatuses().size() + " status, "
+                    + response.getErrors().size() + " erro(s)");
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            System.err.println("❌ ERRO ao buscar status em lote: " + e.getMessage());
+            e.printStackTrace();
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    /**
+     * Long-poll do status: ?waitFor=AUDIOS_READY&timeout=30s responde na hora se o job
+     * já estiver nesse estado (ou além); senão segura o request (sem ocupar thread do
+     * Tomcat) até um callback avançar o estado ou o timeout vencer.
+     */
+    @GetMapping(path = "/status/{id}", params = "waitFor")
+    public Object awaitStatus(@PathVariable Long id,
+                              @RequestParam String waitFor,
+                              @RequestParam(required = false) String timeout) {
+        JobReportStatusResponse.Status target;
+        Duration wait;
+        try {
+            target = JobReportStatusResponse.Status.valueOf(waitFor.trim().toUpperCase());
+            wait = timeout == null || timeout.isBlank()
+                    ? Duration.ofSeconds(longPollDefaultSeconds)
+                    : DurationStyle.detectAndParse(timeout.trim(), ChronoUnit.SECONDS);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid waitFor/timeout: " + e.getMessage());
+        }
+        if (!JobStatusNotifier.isReachable(target)) {
+            // Nenhum job chega nesse status: o long-poll sempre esperaria o timeout inteiro
+            return ResponseEntity.badRequest().body("waitFor " + target + " is never reached");
+        }
+        if (wait.isNegative() || wait.isZero()) {
+            return ResponseEntity.badRequest().body("timeout must be positive");
+        }
+        if (wait.getSeconds() > longPollMaxSeconds) {
+            wait = Duration.ofSeconds(longPollMaxSeconds);
+        }
+
+        try {
+            return statusNotifier.awaitStatus(id, target, wait);
+        } catch (IllegalArgumentException e) {
+            System.err.println("❌ Job report não encontrado: " + id);
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            System.err.println("❌ ERRO no long-poll de status: " + e.getMessage());
+            e.printStackTrace();
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    /**
+     * Stream SSE do status: envia o status atual e depois um evento "status" a cada
+     * mudança de estado (callbacks), com heartbeats periódicos.
+     */
+    @GetMapping(path = "/status/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamStatus(@PathVariable Long id,
+                                                   @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        try {
+            return ResponseEntity.ok(statusNotifier.subscribe(id, lastEventId));
+        } catch (IllegalArgumentException e) {
+            System.err.println("❌ Job report não encontrado: " + id);
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            System.err.println("❌ ERRO ao abrir stream de status: " + e.getMessage());
+            e.printStackTrace();
+            return ResponseEntity.status(500).build();
+        }
+    }
+
     @GetMapping("/audios/{id}/presigned-urls")
     public ResponseEntity<List<PresignedUrlResponse>> getPresignedUrls(@PathVariable Long id) {
         try {
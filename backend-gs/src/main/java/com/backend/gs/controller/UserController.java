@@ -1,8 +1,8 @@
 package com.backend.gs.controller;
 
-import com.backend.gs.dao.UserDao;
 import com.backend.gs.dto.AuthResponse;
 import com.backend.gs.model.User;
+import com.backend.gs.service.UserCache;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -12,17 +12,17 @@ import org.springframework.web.bind.annotation.*;
 @CrossOrigin(origins = "*")
 public class UserController {
 
-    private final UserDao userDao;
+    private final UserCache userCache;
 
-    public UserController(UserDao userDao) {
-        this.userDao = userDao;
+    public UserController(UserCache userCache) {
+        this.userCache = userCache;
     }
 
     @GetMapping("/profile")
     public ResponseEntity<?> getProfile(Authentication authentication) {
         String username = authentication.getName();
 
-        var optionalUser = userDao.findByUsername(username);
+        var optionalUser = userCache.findByUsername(username);
 
         if (optionalUser.isEmpty()) {
             return ResponseEntity.status(404).body("Usuário não encontrado.");
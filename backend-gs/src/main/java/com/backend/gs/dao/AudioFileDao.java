@@ -1,5 +1,6 @@
 package com.backend.gs.dao;
 
+import com.backend.gs.database.DatabaseDialect;
 import com.backend.gs.database.OracleConnection;
 import com.backend.gs.model.AudioFile;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,31 +19,25 @@ public class AudioFileDao {
     public AudioFile save(long jobReportId, String s3Path, String fileName) throws SQLException {
         String sql = "INSERT INTO AUDIO_FILES (ID_JOB_REPORT, S3_PATH, FILE_NAME, CREATED_AT) VALUES (?, ?, ?, CURRENT_TIMESTAMP)";
 
+        DatabaseDialect dialect = oracleConnection.getDialect();
+
         try (Connection conn = oracleConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = dialect.prepareInsertReturning(conn, sql, "ID_AUDIO_FILE", "CREATED_AT")) {
 
             stmt.setLong(1, jobReportId);
             stmt.setString(2, s3Path);
             stmt.setString(3, fileName);
 
-            stmt.executeUpdate();
-
-            // Busca o ID do áudio recém-criado (Oracle não suporta getGeneratedKeys da mesma forma)
             AudioFile audioFile = new AudioFile();
             audioFile.setIdJobReport(jobReportId);
             audioFile.setS3Path(s3Path);
             audioFile.setFileName(fileName);
-            
-            // Busca o ID gerado
-            try (PreparedStatement selectStmt = conn.prepareStatement(
-                    "SELECT ID_AUDIO_FILE, CREATED_AT FROM AUDIO_FILES WHERE ID_JOB_REPORT = ? AND S3_PATH = ? ORDER BY CREATED_AT DESC FETCH FIRST 1 ROWS ONLY")) {
-                selectStmt.setLong(1, jobReportId);
-                selectStmt.setString(2, s3Path);
-                try (ResultSet rs = selectStmt.executeQuery()) {
-                    if (rs.next()) {
-                        audioFile.setIdAudioFile(rs.getLong("ID_AUDIO_FILE"));
-                        audioFile.setCreatedAt(rs.getTimestamp("CREATED_AT"));
-                    }
+
+            // Insere e recebe ID/CREATED_AT gerados no mesmo round trip
+            try (ResultSet rs = dialect.executeInsertReturning(stmt)) {
+                if (rs.next()) {
+                    audioFile.setIdAudioFile(rs.getLong(1));
+                    audioFile.setCreatedAt(rs.getTimestamp(2));
                 }
             }
 
@@ -50,6 +45,41 @@ public class AudioFileDao {
         }
     }
 
+    /**
+     * Insere todos os áudios do job em um único batch JDBC, numa única transação.
+     * É idempotente: paths já gravados para o job são ignorados (upsert pela
+     * chave única ID_JOB_REPORT + S3_PATH), então callbacks repetidos não duplicam linhas.
+     * Não devolve contagem: num upsert em lote o driver não informa quantas linhas
+     * foram realmente inseridas.
+     */
+    public void saveAll(long jobReportId, List<String> s3Paths) throws SQLException {
+        oracleConnection.inTransaction(conn -> {
+            saveAll(conn, jobReportId, s3Paths);
+            return null;
+        });
+    }
+
+    /**
+     * Versão que participa de uma transação já aberta (ver OracleConnection.inTransaction).
+     */
+    public void saveAll(Connection conn, long jobReportId, List<String> s3Paths) throws SQLException {
+        String sql = upsertSql(oracleConnection.getDialect());
+
+        if (s3Paths == null || s3Paths.isEmpty()) {
+            return;
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (String s3Path : s3Paths) {
+                stmt.setLong(1, jobReportId);
+                stmt.setString(2, s3Path);
+                stmt.setString(3, fileNameOf(s3Path));
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
     public List<AudioFile> findByJobReportId(long jobReportId) throws SQLException {
         String sql = "SELECT ID_AUDIO_FILE, ID_JOB_REPORT, S3_PATH, FILE_NAME, CREATED_AT FROM AUDIO_FILES WHERE ID_JOB_REPORT = ? ORDER BY CREATED_AT";
 
@@ -88,5 +118,31 @@ public class AudioFileDao {
             return rows > 0;
         }
     }
-}
 
+    private String upsertSql(DatabaseDialect dialect) {
+        switch (dialect) {
+            case POSTGRES:
+                return "INSERT INTO AUDIO_FILES (ID_JOB_REPORT, S3_PATH, FILE_NAME, CREATED_AT) VALUES (?, ?, ?, CURRENT_TIMESTAMP) "
+                        + "ON CONFLICT (ID_JOB_REPORT, S3_PATH) DO NOTHING";
+            case H2:
+                // H2 só aceita ON CONFLICT no modo PostgreSQL; MERGE funciona em qualquer modo
+                return "MERGE INTO AUDIO_FILES a "
+                        + "USING (SELECT CAST(? AS BIGINT) AS ID_JOB_REPORT, CAST(? AS VARCHAR(500)) AS S3_PATH, "
+                        + "CAST(? AS VARCHAR(200)) AS FILE_NAME FROM DUAL) s "
+                        + "ON (a.ID_JOB_REPORT = s.ID_JOB_REPORT AND a.S3_PATH = s.S3_PATH) "
+                        + "WHEN NOT MATCHED THEN INSERT (ID_JOB_REPORT, S3_PATH, FILE_NAME, CREATED_AT) "
+                        + "VALUES (s.ID_JOB_REPORT, s.S3_PATH, s.FILE_NAME, CURRENT_TIMESTAMP)";
+            default:
+                return "MERGE INTO AUDIO_FILES a "
+                        + "USING (SELECT ? AS ID_JOB_REPORT, ? AS S3_PATH, ? AS FILE_NAME FROM DUAL) s "
+                        + "ON (a.ID_JOB_REPORT = s.ID_JOB_REPORT AND a.S3_PATH = s.S3_PATH) "
+                        + "WHEN NOT MATCHED THEN INSERT (ID_JOB_REPORT, S3_PATH, FILE_NAME, CREATED_AT) "
+                        + "VALUES (s.ID_JOB_REPORT, s.S3_PATH, s.FILE_NAME, CURRENT_TIMESTAMP)";
+        }
+    }
+
+    private String fileNameOf(String s3Path) {
+        // Extrai o nome do arquivo do path
+        return s3Path.substring(s3Path.lastIndexOf('/') + 1);
+    }
+}
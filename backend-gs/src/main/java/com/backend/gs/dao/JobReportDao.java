@@ -1,42 +1,66 @@
 package com.backend.gs.dao;
 
+import com.backend.gs.database.DatabaseDialect;
 import com.backend.gs.database.OracleConnection;
+import com.backend.gs.model.AudioFile;
 import com.backend.gs.model.JobReport;
+import com.backend.gs.model.JobReportStatus;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Repository
 public class JobReportDao {
 
+    private static final String COLUMNS = "ID_JOB_REPORT, ID_USER, COMPANY, TITLE, DESCRIPTION, SESSION_ID, REPORT_URL, "
+            + "CREATED_AT, STATUS, AUDIOS_READY_AT, REPORT_READY_AT";
+
+    // Listagem: mesmas colunas sem DESCRIPTION (o texto da vaga não aparece na lista)
+    private static final String SUMMARY_COLUMNS = "ID_JOB_REPORT, ID_USER, COMPANY, TITLE, SESSION_ID, REPORT_URL, "
+            + "CREATED_AT, STATUS, AUDIOS_READY_AT, REPORT_READY_AT";
+
     @Autowired
     private OracleConnection oracleConnection;
 
+    @Value("${jobreport.list.fetch-size:50}")
+    private int listFetchSize;
+
     public JobReport save(JobReport jobReport) throws SQLException {
-        String sql = "INSERT INTO JOB_REPORT (ID_USER, COMPANY, TITLE, DESCRIPTION) VALUES (?, ?, ?, ?)";
+        try (Connection conn = oracleConnection.getConnection()) {
+            return save(conn, jobReport);
+        }
+    }
 
-        try (Connection conn = oracleConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+    /**
+     * Versão que participa de uma transação já aberta (ver OracleConnection.inTransaction).
+     */
+    public JobReport save(Connection conn, JobReport jobReport) throws SQLException {
+        String sql = "INSERT INTO JOB_REPORT (ID_USER, COMPANY, TITLE, DESCRIPTION, STATUS) VALUES (?, ?, ?, ?, ?)";
+
+        DatabaseDialect dialect = oracleConnection.getDialect();
+
+        try (PreparedStatement stmt = dialect.prepareInsertReturning(conn, sql, "ID_JOB_REPORT", "CREATED_AT")) {
 
             stmt.setLong(1, jobReport.getIdUser());
             stmt.setString(2, jobReport.getCompany());
             stmt.setString(3, jobReport.getTitle());
             stmt.setString(4, jobReport.getDescription());
+            stmt.setString(5, JobReport.Status.PENDING.name());
 
-            stmt.executeUpdate();
-
-            // Busca o ID do job report recém-criado (Oracle não suporta getGeneratedKeys da mesma forma)
-            try (PreparedStatement selectStmt = conn.prepareStatement(
-                    "SELECT ID_JOB_REPORT FROM JOB_REPORT WHERE COMPANY = ? AND TITLE = ? ORDER BY ID_JOB_REPORT DESC FETCH FIRST 1 ROWS ONLY")) {
-                selectStmt.setString(1, jobReport.getCompany());
-                selectStmt.setString(2, jobReport.getTitle());
-                try (ResultSet rs = selectStmt.executeQuery()) {
+            // Insere e recebe ID/CREATED_AT gerados no mesmo round trip
+            try (ResultSet rs = dialect.executeInsertReturning(stmt)) {
                 if (rs.next()) {
                     jobReport.setIdJobReport(rs.getLong(1));
-                    }
+                    jobReport.setCreatedAt(rs.getTimestamp(2));
+                    jobReport.setStatus(JobReport.Status.PENDING);
                 }
             }
 
@@ -45,7 +69,7 @@ public class JobReportDao {
     }
 
     public JobReport findById(long id) throws SQLException {
-        String sql = "SELECT ID_JOB_REPORT, ID_USER, COMPANY, TITLE, DESCRIPTION, SESSION_ID FROM JOB_REPORT WHERE ID_JOB_REPORT = ?";
+        String sql = "SELECT " + COLUMNS + " FROM JOB_REPORT WHERE ID_JOB_REPORT = ?";
 
         try (Connection conn = oracleConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -54,21 +78,7 @@ public class JobReportDao {
 
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    JobReport job = new JobReport();
-                    job.setIdJobReport(rs.getLong("ID_JOB_REPORT"));
-                    job.setIdUser(rs.getLong("ID_USER"));
-                    job.setCompany(rs.getString("COMPANY"));
-                    job.setTitle(rs.getString("TITLE"));
-                    job.setDescription(rs.getString("DESCRIPTION"));
-                    job.setSessionId(rs.getString("SESSION_ID"));
-                    // Tenta ler REPORT_URL se existir
-                    try {
-                        job.setReportUrl(rs.getString("REPORT_URL"));
-                    } catch (SQLException e) {
-                        // Coluna ainda não existe, ignora
-                        job.setReportUrl(null);
-                    }
-                    return job;
+                    return mapJobReport(rs);
                 }
             }
 
@@ -76,8 +86,115 @@ public class JobReportDao {
         }
     }
 
+    /**
+     * Leitura do endpoint de status em um único round trip pela chave primária:
+     * JOB_REPORT (com o STATUS gravado) LEFT JOIN AUDIO_FILES para montar as URLs,
+     * só com as colunas usadas (sem o CLOB DESCRIPTION).
+     * Retorna null se o job report não existir.
+     */
+    public JobReportStatus findStatusById(long id) throws SQLException {
+        String sql = "SELECT j.ID_JOB_REPORT, j.STATUS, j.SESSION_ID, j.REPORT_URL, a.S3_PATH, a.FILE_NAME "
+                + "FROM JOB_REPORT j LEFT JOIN AUDIO_FILES a ON a.ID_JOB_REPORT = j.ID_JOB_REPORT "
+                + "WHERE j.ID_JOB_REPORT = ? "
+                + "ORDER BY a.CREATED_AT, a.ID_AUDIO_FILE";
+
+        try (Connection conn = oracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setLong(1, id);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                JobReportStatus status = null;
+                while (rs.next()) {
+                    if (status == null) {
+                        status = new JobReportStatus();
+                        status.setIdJobReport(rs.getLong("ID_JOB_REPORT"));
+                        status.setStatus(JobReport.Status.valueOf(rs.getString("STATUS")));
+                        status.setSessionId(rs.getString("SESSION_ID"));
+                        status.setReportUrl(rs.getString("REPORT_URL"));
+                    }
+                    String s3Path = rs.getString("S3_PATH");
+                    if (s3Path != null) {
+                        AudioFile audioFile = new AudioFile();
+                        audioFile.setIdJobReport(id);
+                        audioFile.setS3Path(s3Path);
+                        audioFile.setFileName(rs.getString("FILE_NAME"));
+                        status.getAudioFiles().add(audioFile);
+                    }
+                }
+                return status;
+            }
+        }
+    }
+
+    /**
+     * Versão em lote do {@link #findStatusById(long)} para o /status/batch: duas
+     * consultas com IN (...) na mesma conexão, uma para JOB_REPORT e outra para
+     * AUDIO_FILES. Ids inexistentes ficam fora do mapa.
+     */
+    public Map<Long, JobReportStatus> findStatusByIds(Collection<Long> ids) throws SQLException {
+        Map<Long, JobReportStatus> statuses = new LinkedHashMap<>();
+        if (ids.isEmpty()) {
+            return statuses;
+        }
+
+        String in = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        String jobsSql = "SELECT ID_JOB_REPORT, STATUS, SESSION_ID, REPORT_URL FROM JOB_REPORT "
+                + "WHERE ID_JOB_REPORT IN (" + in + ")";
+        String audiosSql = "SELECT ID_JOB_REPORT, S3_PATH, FILE_NAME FROM AUDIO_FILES "
+                + "WHERE ID_JOB_REPORT IN (" + in + ") "
+                + "ORDER BY ID_JOB_REPORT, CREATED_AT, ID_AUDIO_FILE";
+
+        try (Connection conn = oracleConnection.getConnection()) {
+
+            try (PreparedStatement stmt = conn.prepareStatement(jobsSql)) {
+                bindIds(stmt, ids);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        JobReportStatus status = new JobReportStatus();
+                        status.setIdJobReport(rs.getLong("ID_JOB_REPORT"));
+                        status.setStatus(JobReport.Status.valueOf(rs.getString("STATUS")));
+                        status.setSessionId(rs.getString("SESSION_ID"));
+                        status.setReportUrl(rs.getString("REPORT_URL"));
+                        statuses.put(status.getIdJobReport(), status);
+                    }
+                }
+            }
+
+            if (statuses.isEmpty()) {
+                return statuses;
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement(audiosSql)) {
+                bindIds(stmt, ids);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        long idJobReport = rs.getLong("ID_JOB_REPORT");
+                        JobReportStatus status = statuses.get(idJobReport);
+                        if (status != null) {
+                            AudioFile audioFile = new AudioFile();
+                            audioFile.setIdJobReport(idJobReport);
+                            audioFile.setS3Path(rs.getString("S3_PATH"));
+                            audioFile.setFileName(rs.getString("FILE_NAME"));
+                            status.getAudioFiles().add(audioFile);
+                        }
+                    }
+                }
+            }
+        }
+
+        return statuses;
+    }
+
+    private static void bindIds(PreparedStatement stmt, Collection<Long> ids) throws SQLException {
+        int index = 1;
+        for (Long id : ids) {
+            stmt.setLong(index++, id);
+        }
+    }
+
     public List<JobReport> findAll() throws SQLException {
-        String sql = "SELECT ID_JOB_REPORT, ID_USER, COMPANY, TITLE, DESCRIPTION, SESSION_ID FROM JOB_REPORT";
+        String sql = "SELECT " + COLUMNS + " FROM JOB_REPORT";
 
         List<JobReport> list = new ArrayList<>();
 
@@ -86,21 +203,40 @@ public class JobReportDao {
              ResultSet rs = stmt.executeQuery()) {
 
             while (rs.next()) {
-                JobReport job = new JobReport();
-                job.setIdJobReport(rs.getLong("ID_JOB_REPORT"));
-                job.setIdUser(rs.getLong("ID_USER"));
-                job.setCompany(rs.getString("COMPANY"));
-                job.setTitle(rs.getString("TITLE"));
-                job.setDescription(rs.getString("DESCRIPTION"));
-                job.setSessionId(rs.getString("SESSION_ID"));
-                // Tenta ler REPORT_URL se existir
-                try {
-                    job.setReportUrl(rs.getString("REPORT_URL"));
-                } catch (SQLException e) {
-                    // Coluna ainda não existe, ignora
-                    job.setReportUrl(null);
+                list.add(mapJobReport(rs));
+            }
+        }
+
+        return list;
+    }
+
+    /**
+     * Página dos job reports de um usuário, do mais novo para o mais antigo, por
+     * keyset: {@code afterId} é o último id da página anterior (null na primeira).
+     * Percorre o índice IDX_JOB_REPORT_USER (ID_USER, ID_JOB_REPORT) a partir do
+     * cursor, então o custo depende só de {@code limit}, não de quantos jobs o
+     * usuário tem. Os JobReport voltam sem DESCRIPTION.
+     */
+    public List<JobReport> findPageByUser(long userId, Long afterId, int limit) throws SQLException {
+        String sql = "SELECT " + SUMMARY_COLUMNS + " FROM JOB_REPORT WHERE ID_USER = ?"
+                + (afterId != null ? " AND ID_JOB_REPORT < ?" : "")
+                + " ORDER BY ID_JOB_REPORT DESC FETCH FIRST " + limit + " ROWS ONLY";
+
+        List<JobReport> list = new ArrayList<>(limit);
+
+        try (Connection conn = oracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setFetchSize(Math.min(limit, listFetchSize));
+            stmt.setLong(1, userId);
+            if (afterId != null) {
+                stmt.setLong(2, afterId);
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    list.add(mapJobReportSummary(rs));
                 }
-                list.add(job);
             }
         }
 
@@ -137,10 +273,18 @@ public class JobReportDao {
     }
 
     public boolean updateSessionId(long id, String sessionId) throws SQLException {
+        try (Connection conn = oracleConnection.getConnection()) {
+            return updateSessionId(conn, id, sessionId);
+        }
+    }
+
+    /**
+     * Versão que participa de uma transação já aberta (ver OracleConnection.inTransaction).
+     */
+    public boolean updateSessionId(Connection conn, long id, String sessionId) throws SQLException {
         String sql = "UPDATE JOB_REPORT SET SESSION_ID = ? WHERE ID_JOB_REPORT = ?";
 
-        try (Connection conn = oracleConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setString(1, sessionId);
             stmt.setLong(2, id);
@@ -151,10 +295,18 @@ public class JobReportDao {
     }
 
     public boolean updateReportUrl(long id, String reportUrl) throws SQLException {
+        try (Connection conn = oracleConnection.getConnection()) {
+            return updateReportUrl(conn, id, reportUrl);
+        }
+    }
+
+    /**
+     * Versão que participa de uma transação já aberta (ver OracleConnection.inTransaction).
+     */
+    public boolean updateReportUrl(Connection conn, long id, String reportUrl) throws SQLException {
         String sql = "UPDATE JOB_REPORT SET REPORT_URL = ? WHERE ID_JOB_REPORT = ?";
 
-        try (Connection conn = oracleConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setString(1, reportUrl);
             stmt.setLong(2, id);
@@ -163,6 +315,68 @@ public class JobReportDao {
             return rows > 0;
         }
     }
+
+    /**
+     * Compare-and-set do ciclo de vida: muda STATUS para {@code target} e grava o
+     * instante da transição só se o job ainda estiver num estado anterior. Callbacks
+     * repetidos ou fora de ordem não fazem o status voltar. O instante vem do relógio
+     * do banco (CURRENT_TIMESTAMP), o mesmo do default de CREATED_AT.
+     *
+     * @return true se esta chamada fez a transição
+     */
+    public boolean advanceStatus(long id, JobReport.Status target) throws SQLException {
+        try (Connection conn = oracleConnection.getConnection()) {
+            return advanceStatus(conn, id, target);
+        }
+    }
+
+    /**
+     * Versão que participa de uma transação já aberta (ver OracleConnection.inTransaction).
+     */
+    public boolean advanceStatus(Connection conn, long id, JobReport.Status target) throws SQLException {
+        String sql = switch (target) {
+            case AUDIOS_READY -> "UPDATE JOB_REPORT SET STATUS = ?, AUDIOS_READY_AT = CURRENT_TIMESTAMP "
+                    + "WHERE ID_JOB_REPORT = ? AND STATUS = 'PENDING'";
+            case REPORT_READY -> "UPDATE JOB_REPORT SET STATUS = ?, REPORT_READY_AT = CURRENT_TIMESTAMP "
+                    + "WHERE ID_JOB_REPORT = ? AND STATUS IN ('PENDING', 'AUDIOS_READY')";
+            case PENDING -> throw new IllegalArgumentException("PENDING é o estado inicial");
+        };
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, target.name());
+            stmt.setLong(2, id);
+
+            return stmt.executeUpdate() > 0;
+        }
+    }
+
+    /**
+     * Ids dos jobs parados em {@code status} desde antes de {@code createdBefore}
+     * (ex.: PENDING há mais de uma hora), mais antigos primeiro. Usa o índice
+     * IDX_JOB_REPORT_STATUS (STATUS, CREATED_AT).
+     */
+    public List<Long> findIdsByStatusCreatedBefore(JobReport.Status status, Timestamp createdBefore, int limit) throws SQLException {
+        String sql = "SELECT ID_JOB_REPORT FROM JOB_REPORT WHERE STATUS = ? AND CREATED_AT < ? ORDER BY CREATED_AT";
+
+        List<Long> ids = new ArrayList<>();
+
+        try (Connection conn = oracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setMaxRows(limit);
+            stmt.setString(1, status.name());
+            stmt.setTimestamp(2, createdBefore);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getLong("ID_JOB_REPORT"));
+                }
+            }
+        }
+
+        return ids;
+    }
     
     /**
      * Altera o tamanho da coluna REPORT_URL para suportar URLs longas da AWS
@@ -178,4 +392,25 @@ public class JobReportDao {
             System.out.println("✅ Coluna REPORT_URL alterada com sucesso para VARCHAR2(2000)");
         }
     }
+
+    private JobReport mapJobReportSummary(ResultSet rs) throws SQLException {
+        JobReport job = new JobReport();
+        job.setIdJobReport(rs.getLong("ID_JOB_REPORT"));
+        job.setIdUser(rs.getLong("ID_USER"));
+        job.setCompany(rs.getString("COMPANY"));
+        job.setTitle(rs.getString("TITLE"));
+        job.setSessionId(rs.getString("SESSION_ID"));
+        job.setReportUrl(rs.getString("REPORT_URL"));
+        job.setCreatedAt(rs.getTimestamp("CREATED_AT"));
+        job.setStatus(JobReport.Status.valueOf(rs.getString("STATUS")));
+        job.setAudiosReadyAt(rs.getTimestamp("AUDIOS_READY_AT"));
+        job.setReportReadyAt(rs.getTimestamp("REPORT_READY_AT"));
+        return job;
+    }
+
+    private JobReport mapJobReport(ResultSet rs) throws SQLException {
+        JobReport job = mapJobReportSummary(rs);
+        job.setDescription(rs.getString("DESCRIPTION"));
+        return job;
+    }
 }
@@ -0,0 +1,172 @@
+package com.backend.gs.dao;
+
+import com.backend.gs.database.DatabaseDialect;
+import com.backend.gs.database.OracleConnection;
+import com.backend.gs.model.LambdaOutboxMessage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+public class LambdaOutboxDao {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Autowired
+    private OracleConnection oracleConnection;
+
+    /**
+     * Grava a mensagem dentro de uma transação já aberta (a mesma do job report).
+     */
+    public LambdaOutboxMessage save(Connection conn, LambdaOutboxMessage message) throws SQLException {
+        String sql = "INSERT INTO LAMBDA_OUTBOX (ID_JOB_REPORT, ENDPOINT, PAYLOAD, STATUS, ATTEMPTS, NEXT_ATTEMPT_AT) VALUES (?, ?, ?, ?, ?, ?)";
+
+        DatabaseDialect dialect = oracleConnection.getDialect();
+
+        try (PreparedStatement stmt = dialect.prepareInsertReturning(conn, sql, "ID_OUTBOX", "CREATED_AT")) {
+
+            stmt.setLong(1, message.getIdJobReport());
+            stmt.setString(2, message.getEndpoint());
+            stmt.setString(3, message.getPayload());
+            stmt.setString(4, message.getStatus().name());
+            stmt.setInt(5, message.getAttempts());
+            stmt.setTimestamp(6, message.getNextAttemptAt());
+
+            try (ResultSet rs = dialect.executeInsertReturning(stmt)) {
+                if (rs.next()) {
+                    message.setIdOutbox(rs.getLong(1));
+                    message.setCreatedAt(rs.getTimestamp(2));
+                }
+            }
+
+            return message;
+        }
+    }
+
+    /**
+     * Reserva até {@code limit} mensagens PENDING vencidas para esta instância.
+     *
+     * As linhas são travadas com FOR UPDATE SKIP LOCKED (outras instâncias pegam as
+     * seguintes em vez de esperar) e, na mesma transação, recebem um lease: o
+     * NEXT_ATTEMPT_AT vai para {@code leaseUntil} e ATTEMPTS é incrementado. Se a
+     * instância cair no meio da chamada, a mensagem volta a ficar vencida quando o
+     * lease expirar (entrega at-least-once).
+     */
+    public List<LambdaOutboxMessage> claimDue(int limit, Timestamp now, Timestamp leaseUntil) throws SQLException {
+        DatabaseDialect dialect = oracleConnection.getDialect();
+        String sql = dialect.lockNextRows(
+                "SELECT ID_OUTBOX, ID_JOB_REPORT, ENDPOINT, PAYLOAD, ATTEMPTS FROM LAMBDA_OUTBOX "
+                        + "WHERE STATUS = 'PENDING' AND NEXT_ATTEMPT_AT <= ? "
+                        + "ORDER BY NEXT_ATTEMPT_AT, ID_OUTBOX", limit);
+        String leaseSql = "UPDATE LAMBDA_OUTBOX SET ATTEMPTS = ATTEMPTS + 1, NEXT_ATTEMPT_AT = ? WHERE ID_OUTBOX = ?";
+
+        return oracleConnection.inTransaction(conn -> {
+            List<LambdaOutboxMessage> claimed = new ArrayList<>();
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setMaxRows(limit);
+                stmt.setTimestamp(1, now);
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        LambdaOutboxMessage message = new LambdaOutboxMessage();
+                        message.setIdOutbox(rs.getLong("ID_OUTBOX"));
+                        message.setIdJobReport(rs.getLong("ID_JOB_REPORT"));
+                        message.setEndpoint(rs.getString("ENDPOINT"));
+                        message.setPayload(rs.getString("PAYLOAD"));
+                        message.setAttempts(rs.getInt("ATTEMPTS") + 1);
+                        message.setNextAttemptAt(leaseUntil);
+                        claimed.add(message);
+                    }
+                }
+            }
+
+            if (claimed.isEmpty()) {
+                return claimed;
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement(leaseSql)) {
+                for (LambdaOutboxMessage message : claimed) {
+                    stmt.setTimestamp(1, leaseUntil);
+                    stmt.setLong(2, message.getIdOutbox());
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+
+            return claimed;
+        });
+    }
+
+    public boolean markDone(long idOutbox) throws SQLException {
+        String sql = "UPDATE LAMBDA_OUTBOX SET STATUS = 'DONE', LAST_ERROR = NULL, PROCESSED_AT = ? WHERE ID_OUTBOX = ?";
+
+        try (Connection conn = oracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setTimestamp(1, new Timestamp(System.currentTimeMillis()));
+            stmt.setLong(2, idOutbox);
+
+            return stmt.executeUpdate() > 0;
+        }
+    }
+
+    /**
+     * Devolve a mensagem para a fila, vencendo em {@code nextAttemptAt}.
+     */
+    public boolean reschedule(long idOutbox, Timestamp nextAttemptAt, String error) throws SQLException {
+        String sql = "UPDATE LAMBDA_OUTBOX SET NEXT_ATTEMPT_AT = ?, LAST_ERROR = ? WHERE ID_OUTBOX = ? AND STATUS = 'PENDING'";
+
+        try (Connection conn = oracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setTimestamp(1, nextAttemptAt);
+            stmt.setString(2, truncate(error));
+            stmt.setLong(3, idOutbox);
+
+            return stmt.executeUpdate() > 0;
+        }
+    }
+
+    /**
+     * Dead letter: a mensagem não é mais tentada e fica na tabela para inspeção.
+     */
+    public boolean markDead(long idOutbox, String error) throws SQLException {
+        String sql = "UPDATE LAMBDA_OUTBOX SET STATUS = 'DEAD', LAST_ERROR = ?, PROCESSED_AT = ? WHERE ID_OUTBOX = ?";
+
+        try (Connection conn = oracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, truncate(error));
+            stmt.setTimestamp(2, new Timestamp(System.currentTimeMillis()));
+            stmt.setLong(3, idOutbox);
+
+            return stmt.executeUpdate() > 0;
+        }
+    }
+
+    /**
+     * Remove mensagens entregues (DONE) processadas antes de {@code cutoff}.
+     */
+    public int deleteDoneBefore(Timestamp cutoff) throws SQLException {
+        String sql = "DELETE FROM LAMBDA_OUTBOX WHERE STATUS = 'DONE' AND PROCESSED_AT < ?";
+
+        try (Connection conn = oracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setTimestamp(1, cutoff);
+
+            return stmt.executeUpdate();
+        }
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
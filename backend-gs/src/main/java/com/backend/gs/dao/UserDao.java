@@ -1,5 +1,6 @@
 package com.backend.gs.dao;
 
+import com.backend.gs.database.DatabaseDialect;
 import com.backend.gs.database.OracleConnection;
 import com.backend.gs.model.User;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,26 +18,23 @@ public class UserDao {
     public User save(User user) {
         String sql = "INSERT INTO users (username, email, password) VALUES (?, ?, ?)";
 
+        DatabaseDialect dialect = oracleConnection.getDialect();
+
         try (Connection conn = oracleConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = dialect.prepareInsertReturning(conn, sql, "id", "created_at")) {
             
             stmt.setString(1, user.getUsername());
             stmt.setString(2, user.getEmail());
             stmt.setString(3, user.getPassword());
             
-            stmt.executeUpdate();
-            
-            // Busca o ID do usuário recém-criado (Oracle não suporta getGeneratedKeys da mesma forma)
-            try (PreparedStatement selectStmt = conn.prepareStatement(
-                    "SELECT id FROM users WHERE username = ? ORDER BY id DESC FETCH FIRST 1 ROWS ONLY")) {
-                selectStmt.setString(1, user.getUsername());
-                try (ResultSet rs = selectStmt.executeQuery()) {
-                    if (rs.next()) {
-                        user.setId(rs.getLong(1));
-                    }
+            // Insere e recebe id/created_at gerados no mesmo round trip
+            try (ResultSet rs = dialect.executeInsertReturning(stmt)) {
+                if (rs.next()) {
+                    user.setId(rs.getLong(1));
+                    user.setCreatedAt(rs.getTimestamp(2));
                 }
             }
-            
+
             return user;
 
         } catch (SQLException e) {
@@ -144,6 +142,22 @@ public class UserDao {
         }
     }
 
+    public boolean updatePassword(Long id, String password) {
+        String sql = "UPDATE users SET password = ? WHERE id = ?";
+
+        try (Connection conn = oracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, password);
+            stmt.setLong(2, id);
+
+            return stmt.executeUpdate() > 0;
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao atualizar senha: " + e.getMessage(), e);
+        }
+    }
+
     private User mapUser(ResultSet rs) throws SQLException {
         User user = new User();
         user.setId(rs.getLong("id"));
@@ -0,0 +1,65 @@
+package com.backend.gs.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Diferenças de SQL entre os bancos suportados (Oracle, Postgres e H2),
+ * detectadas a partir da URL JDBC configurada.
+ */
+public enum DatabaseDialect {
+
+    ORACLE,
+    POSTGRES,
+    H2;
+
+    public static DatabaseDialect fromUrl(String jdbcUrl) {
+        if (jdbcUrl.startsWith("jdbc:postgresql:")) {
+            return POSTGRES;
+        }
+        if (jdbcUrl.startsWith("jdbc:h2:")) {
+            return H2;
+        }
+        return ORACLE;
+    }
+
+    /**
+     * Prepara um INSERT que devolve as colunas geradas pelo banco no mesmo round trip.
+     * Postgres: INSERT ... RETURNING. Oracle: o ojdbc reescreve o INSERT como
+     * RETURNING ... INTO a partir dos nomes das colunas. H2: getGeneratedKeys.
+     */
+    public PreparedStatement prepareInsertReturning(Connection conn, String insertSql, String... keyColumns)
+            throws SQLException {
+        if (this == POSTGRES) {
+            return conn.prepareStatement(insertSql + " RETURNING " + String.join(", ", keyColumns));
+        }
+        return conn.prepareStatement(insertSql, keyColumns);
+    }
+
+    /**
+     * Executa o statement criado por {@link #prepareInsertReturning} e devolve as
+     * colunas geradas, na ordem em que foram pedidas.
+     */
+    public ResultSet executeInsertReturning(PreparedStatement stmt) throws SQLException {
+        if (this == POSTGRES) {
+            return stmt.executeQuery();
+        }
+        stmt.executeUpdate();
+        return stmt.getGeneratedKeys();
+    }
+
+    /**
+     * Completa um SELECT para travar as próximas {@code limit} linhas livres, pulando
+     * as que outra instância já travou (FOR UPDATE SKIP LOCKED). O Oracle não aceita
+     * FETCH FIRST junto com FOR UPDATE: lá o limite fica com Statement.setMaxRows,
+     * já que o SKIP LOCKED do Oracle só trava as linhas efetivamente lidas.
+     */
+    public String lockNextRows(String selectSql, int limit) {
+        if (this == ORACLE) {
+            return selectSql + " FOR UPDATE SKIP LOCKED";
+        }
+        return selectSql + " FETCH FIRST " + limit + " ROWS ONLY FOR UPDATE SKIP LOCKED";
+    }
+}
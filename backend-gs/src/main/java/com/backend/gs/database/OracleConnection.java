@@ -1,17 +1,32 @@
 package com.backend.gs.database;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
+/**
+ * Pool de conexões JDBC (HikariCP) usado por todos os DAOs.
+ * Por padrão conecta no Oracle (host/port/sid); se "oracle.url" for definida,
+ * a URL completa é usada, o que permite rodar com Postgres ou H2.
+ */
 @Component
 public class OracleConnection {
 
     private static final String DRIVER = "oracle.jdbc.driver.OracleDriver";
 
+    @Value("${oracle.url:}")
+    private String url;
+
     @Value("${oracle.host:oracle.fiap.com.br}")
     private String host;
 
@@ -27,47 +42,159 @@ public class OracleConnection {
     @Value("${oracle.password}")
     private String password;
 
+    @Value("${oracle.pool.max-size:10}")
+    private int maxPoolSize;
+
+    @Value("${oracle.pool.min-idle:2}")
+    private int minIdle;
+
+    @Value("${oracle.pool.connection-timeout-ms:5000}")
+    private long connectionTimeoutMs;
+
+    @Value("${oracle.pool.validation-timeout-ms:2000}")
+    private long validationTimeoutMs;
+
+    @Value("${oracle.pool.idle-timeout-ms:300000}")
+    private long idleTimeoutMs;
+
+    @Value("${oracle.pool.max-lifetime-ms:1200000}")
+    private long maxLifetimeMs;
+
+    @Value("${oracle.pool.keepalive-ms:0}")
+    private long keepaliveMs;
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    private HikariDataSource dataSource;
+
+    private DatabaseDialect dialect;
+
+    public OracleConnection(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        String jdbcUrl = resolveUrl();
+        dialect = DatabaseDialect.fromUrl(jdbcUrl);
+
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("viewin-db");
+        config.setJdbcUrl(jdbcUrl);
+        config.setUsername(username);
+        config.setPassword(password);
+        if (jdbcUrl.startsWith("jdbc:oracle:")) {
+            config.setDriverClassName(DRIVER);
+        }
+
+        // Tamanho limitado do pool
+        config.setMaximumPoolSize(maxPoolSize);
+        config.setMinimumIdle(Math.min(minIdle, maxPoolSize));
+        // Tempo máximo de espera por uma conexão livre
+        config.setConnectionTimeout(connectionTimeoutMs);
+        // Validação no empréstimo (Connection.isValid) com timeout próprio
+        config.setValidationTimeout(validationTimeoutMs);
+        // Remoção de conexões ociosas acima do minIdle
+        config.setIdleTimeout(idleTimeoutMs);
+        // Vida máxima da conexão (deve ser menor que os timeouts do banco/firewall)
+        config.setMaxLifetime(maxLifetimeMs);
+        config.setKeepaliveTime(keepaliveMs);
+        // Não derruba a aplicação se o banco estiver fora no startup
+        config.setInitializationFailTimeout(-1);
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            // Expõe os gauges hikaricp.connections.* (active, idle, pending, ...)
+            config.setMetricRegistry(registry);
+        }
+
+        dataSource = new HikariDataSource(config);
+        System.out.println("Pool de conexões inicializado: " + describe(jdbcUrl)
+                + " (max=" + maxPoolSize + ")");
+    }
+
+    private String resolveUrl() {
+        if (url != null && !url.isBlank()) {
+            return url;
+        }
+        // Monta a URL no mesmo formato do exemplo que funcionou
+        return String.format("jdbc:oracle:thin:@%s:%s:%s", host, port, sid);
+    }
+
+    private String describe(String jdbcUrl) {
+        int params = jdbcUrl.indexOf(';');
+        return params == -1 ? jdbcUrl : jdbcUrl.substring(0, params);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (dataSource != null) {
+            dataSource.close();
+        }
+    }
+
+    /**
+     * Empresta uma conexão do pool. Fechar a conexão (try-with-resources)
+     * devolve ela ao pool.
+     */
     public Connection getConnection() throws SQLException {
-        try {
-            Class.forName(DRIVER);
-            
-            // Monta a URL no mesmo formato do exemplo que funcionou
-            String url = String.format("jdbc:oracle:thin:@%s:%s:%s", host, port, sid);
-            
-            System.out.println("Conectando ao Oracle:");
-            System.out.println("  Host: " + host + ":" + port);
-            System.out.println("  SID: " + sid);
-            System.out.println("  Usuário: " + username);
-            
-            Connection connection = DriverManager.getConnection(url, username, password);
-            System.out.println("Oracle connection established successfully!");
-            
-            return connection;
-        } catch (ClassNotFoundException e) {
-            throw new SQLException("Driver Oracle não encontrado", e);
+        return dataSource.getConnection();
+    }
+
+    /**
+     * Executa o trabalho em uma única conexão/transação: commit se terminar
+     * normalmente, rollback se lançar exceção.
+     */
+    public <T> T inTransaction(TransactionCallback<T> work) throws SQLException {
+        try (Connection conn = getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                T result = work.doInTransaction(conn);
+                conn.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
         }
     }
 
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public DatabaseDialect getDialect() {
+        return dialect;
+    }
+
+    public HikariPoolMXBean getPoolStats() {
+        return dataSource.getHikariPoolMXBean();
+    }
+
     public void closeConnection(Connection con) {
         try {
             if (con != null && !con.isClosed()) {
                 con.close();
-                System.out.println("Oracle connection closed successfully!");
             }
         } catch (SQLException e) {
             System.err.println("Erro ao fechar conexão: " + e.getMessage());
         }
     }
 
+    @FunctionalInterface
+    public interface TransactionCallback<T> {
+        T doInTransaction(Connection conn) throws SQLException;
+    }
+
     public boolean testConnection() {
-        try {
-            Connection conn = getConnection();
-            boolean isOpen = conn != null && !conn.isClosed();
-            closeConnection(conn);
-            return isOpen;
+        try (Connection conn = getConnection()) {
+            return conn.isValid((int) Math.max(1, validationTimeoutMs / 1000));
         } catch (SQLException e) {
-            System.err.println("Error testing Oracle connection: " + e.getMessage());
+            System.err.println("Error testing database connection: " + e.getMessage());
             return false;
         }
     }
-}
\ No newline at end of file
+}
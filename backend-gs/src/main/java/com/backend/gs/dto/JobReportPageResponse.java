@@ -0,0 +1,42 @@
+package com.backend.gs.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Página do /mine. next_after é o cursor da próxima página (?after=...) e vem
+ * null quando não há mais itens.
+ */
+public class JobReportPageResponse {
+
+    @JsonProperty("items")
+    private List<JobReportSummaryResponse> items;
+
+    @JsonProperty("next_after")
+    private Long nextAfter;
+
+    public JobReportPageResponse() {
+    }
+
+    public JobReportPageResponse(List<JobReportSummaryResponse> items, Long nextAfter) {
+        this.items = items;
+        this.nextAfter = nextAfter;
+    }
+
+    public List<JobReportSummaryResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<JobReportSummaryResponse> items) {
+        this.items = items;
+    }
+
+    public Long getNextAfter() {
+        return nextAfter;
+    }
+
+    public void setNextAfter(Long nextAfter) {
+        this.nextAfter = nextAfter;
+    }
+}
@@ -1,5 +1,6 @@
 package com.backend.gs.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 public class JobReportResponse {
@@ -13,6 +14,10 @@ public class JobReportResponse {
     @JsonProperty("job_report_id")
     private Long jobReportId;
 
+    @JsonProperty("status_url")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String statusUrl;
+
     public JobReportResponse(String jobInfo) {
         this.jobInfo = jobInfo;
     }
@@ -51,4 +56,12 @@ public class JobReportResponse {
     public void setJobReportId(Long jobReportId) {
         this.jobReportId = jobReportId;
     }
+
+    public String getStatusUrl() {
+        return statusUrl;
+    }
+
+    public void setStatusUrl(String statusUrl) {
+        this.statusUrl = statusUrl;
+    }
 }
@@ -0,0 +1,30 @@
+package com.backend.gs.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class JobReportStatusBatchRequest {
+
+    @JsonProperty("ids")
+    @NotEmpty(message = "A lista de ids não pode estar vazia.")
+    @Size(max = 100, message = "No máximo 100 ids por requisição.")
+    private List<Long> ids;
+
+    public JobReportStatusBatchRequest() {
+    }
+
+    public JobReportStatusBatchRequest(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
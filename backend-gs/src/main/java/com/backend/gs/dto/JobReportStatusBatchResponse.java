@@ -0,0 +1,42 @@
+package com.backend.gs.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Map;
+
+/**
+ * Resposta do /status/batch: status dos ids que deram certo e, separado, o motivo
+ * de cada id que falhou (resultado parcial em vez de erro para o lote todo).
+ */
+public class JobReportStatusBatchResponse {
+
+    @JsonProperty("statuses")
+    private Map<Long, JobReportStatusResponse> statuses;
+
+    @JsonProperty("errors")
+    private Map<Long, String> errors;
+
+    public JobReportStatusBatchResponse() {
+    }
+
+    public JobReportStatusBatchResponse(Map<Long, JobReportStatusResponse> statuses, Map<Long, String> errors) {
+        this.statuses = statuses;
+        this.errors = errors;
+    }
+
+    public Map<Long, JobReportStatusResponse> getStatuses() {
+        return statuses;
+    }
+
+    public void setStatuses(Map<Long, JobReportStatusResponse> statuses) {
+        this.statuses = statuses;
+    }
+
+    public Map<Long, String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(Map<Long, String> errors) {
+        this.errors = errors;
+    }
+}
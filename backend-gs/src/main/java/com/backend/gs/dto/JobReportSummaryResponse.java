@@ -0,0 +1,114 @@
+package com.backend.gs.dto;
+
+import com.backend.gs.model.JobReport;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.sql.Timestamp;
+
+/**
+ * Item da listagem /mine: dados do job sem a descrição da vaga.
+ */
+public class JobReportSummaryResponse {
+
+    @JsonProperty("job_report_id")
+    private Long jobReportId;
+
+    @JsonProperty("company")
+    private String company;
+
+    @JsonProperty("title")
+    private String title;
+
+    @JsonProperty("status")
+    private JobReport.Status status;
+
+    @JsonProperty("report_url")
+    private String reportUrl;
+
+    @JsonProperty("created_at")
+    private Timestamp createdAt;
+
+    @JsonProperty("audios_ready_at")
+    private Timestamp audiosReadyAt;
+
+    @JsonProperty("report_ready_at")
+    private Timestamp reportReadyAt;
+
+    public JobReportSummaryResponse() {
+    }
+
+    public JobReportSummaryResponse(JobReport jobReport) {
+        this.jobReportId = jobReport.getIdJobReport();
+        this.company = jobReport.getCompany();
+        this.title = jobReport.getTitle();
+        this.status = jobReport.getStatus();
+        this.reportUrl = jobReport.getReportUrl();
+        this.createdAt = jobReport.getCreatedAt();
+        this.audiosReadyAt = jobReport.getAudiosReadyAt();
+        this.reportReadyAt = jobReport.getReportReadyAt();
+    }
+
+    public Long getJobReportId() {
+        return jobReportId;
+    }
+
+    public void setJobReportId(Long jobReportId) {
+        this.jobReportId = jobReportId;
+    }
+
+    public String getCompany() {
+        return company;
+    }
+
+    public void setCompany(String company) {
+        this.company = company;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public JobReport.Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(JobReport.Status status) {
+        this.status = status;
+    }
+
+    public String getReportUrl() {
+        return reportUrl;
+    }
+
+    public void setReportUrl(String reportUrl) {
+        this.reportUrl = reportUrl;
+    }
+
+    public Timestamp getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Timestamp createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Timestamp getAudiosReadyAt() {
+        return audiosReadyAt;
+    }
+
+    public void setAudiosReadyAt(Timestamp audiosReadyAt) {
+        this.audiosReadyAt = audiosReadyAt;
+    }
+
+    public Timestamp getReportReadyAt() {
+        return reportReadyAt;
+    }
+
+    public void setReportReadyAt(Timestamp reportReadyAt) {
+        this.reportReadyAt = reportReadyAt;
+    }
+}
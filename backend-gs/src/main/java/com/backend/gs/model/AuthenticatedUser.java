@@ -0,0 +1,15 @@
+package com.backend.gs.model;
+
+import java.security.Principal;
+
+/**
+ * Principal gravado no SecurityContext pelo JwtAuthenticationFilter a partir do
+ * token já verificado; os controllers recebem via @AuthenticationPrincipal.
+ */
+public record AuthenticatedUser(Long userId, String username) implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
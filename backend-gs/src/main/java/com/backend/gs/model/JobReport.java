@@ -1,7 +1,19 @@
 package com.backend.gs.model;
 
+import java.sql.Timestamp;
+
 public class JobReport {
 
+    /**
+     * Ciclo de vida do job, gravado na coluna STATUS. Só avança (na ordem abaixo);
+     * ver JobReportDao.advanceStatus.
+     */
+    public enum Status {
+        PENDING,
+        AUDIOS_READY,
+        REPORT_READY
+    }
+
     private long idJobReport;
     private Long idUser;
     private String company;
@@ -9,6 +21,10 @@ public class JobReport {
     private String description;
     private String sessionId;
     private String reportUrl;
+    private Timestamp createdAt;
+    private Status status = Status.PENDING;
+    private Timestamp audiosReadyAt;
+    private Timestamp reportReadyAt;
 
     public long getIdJobReport() {
         return idJobReport;
@@ -65,4 +81,36 @@ public class JobReport {
     public void setReportUrl(String reportUrl) {
         this.reportUrl = reportUrl;
     }
+
+    public Timestamp getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Timestamp createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Timestamp getAudiosReadyAt() {
+        return audiosReadyAt;
+    }
+
+    public void setAudiosReadyAt(Timestamp audiosReadyAt) {
+        this.audiosReadyAt = audiosReadyAt;
+    }
+
+    public Timestamp getReportReadyAt() {
+        return reportReadyAt;
+    }
+
+    public void setReportReadyAt(Timestamp reportReadyAt) {
+        this.reportReadyAt = reportReadyAt;
+    }
 }
@@ -0,0 +1,57 @@
+package com.backend.gs.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Projeção usada pelo endpoint de status: só as colunas de JOB_REPORT que o
+ * status precisa (sem DESCRIPTION) e os áudios do job.
+ */
+public class JobReportStatus {
+
+    private long idJobReport;
+    private JobReport.Status status;
+    private String sessionId;
+    private String reportUrl;
+    private List<AudioFile> audioFiles = new ArrayList<>();
+
+    public long getIdJobReport() {
+        return idJobReport;
+    }
+
+    public void setIdJobReport(long idJobReport) {
+        this.idJobReport = idJobReport;
+    }
+
+    public JobReport.Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(JobReport.Status status) {
+        this.status = status;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public String getReportUrl() {
+        return reportUrl;
+    }
+
+    public void setReportUrl(String reportUrl) {
+        this.reportUrl = reportUrl;
+    }
+
+    public List<AudioFile> getAudioFiles() {
+        return audioFiles;
+    }
+
+    public void setAudioFiles(List<AudioFile> audioFiles) {
+        this.audioFiles = audioFiles;
+    }
+}
@@ -0,0 +1,103 @@
+package com.backend.gs.model;
+
+import java.sql.Timestamp;
+
+public class LambdaOutboxMessage {
+
+    public enum Status {
+        PENDING,
+        DONE,
+        DEAD
+    }
+
+    private long idOutbox;
+    private long idJobReport;
+    private String endpoint;
+    private String payload;
+    private Status status = Status.PENDING;
+    private int attempts;
+    private Timestamp nextAttemptAt;
+    private String lastError;
+    private Timestamp createdAt;
+    private Timestamp processedAt;
+
+    public long getIdOutbox() {
+        return idOutbox;
+    }
+
+    public void setIdOutbox(long idOutbox) {
+        this.idOutbox = idOutbox;
+    }
+
+    public long getIdJobReport() {
+        return idJobReport;
+    }
+
+    public void setIdJobReport(long idJobReport) {
+        this.idJobReport = idJobReport;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public void setEndpoint(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public Timestamp getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(Timestamp nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public Timestamp getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Timestamp createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Timestamp getProcessedAt() {
+        return processedAt;
+    }
+
+    public void setProcessedAt(Timestamp processedAt) {
+        this.processedAt = processedAt;
+    }
+}
@@ -6,75 +6,113 @@ import com.backend.gs.dto.LoginRequest;
 import com.backend.gs.dto.RegisterRequest;
 import com.backend.gs.model.User;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Registro e login. O BCrypt roda no pool do PasswordHasher e os métodos devolvem
+ * CompletableFuture. O que vem depois do hash (JDBC, token) roda no executor de
+ * tarefas da aplicação: as threads do BCrypt ficam só com o hash e o pool limitado
+ * não enche de trabalho bloqueado em banco.
+ */
 @Service
 public class AuthService {
 
     private final UserDao userDao;
-    private final PasswordEncoder passwordEncoder;
+    private final UserCache userCache;
+    private final PasswordHasher passwordHasher;
     private final JwtService jwtService;
+    private final Executor continuationExecutor;
 
     @Autowired
-    public AuthService(UserDao userDao, PasswordEncoder passwordEncoder, JwtService jwtService) {
+    public AuthService(UserDao userDao, UserCache userCache, PasswordHasher passwordHasher, JwtService jwtService,
+                       @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor continuationExecutor) {
         this.userDao = userDao;
-        this.passwordEncoder = passwordEncoder;
+        this.userCache = userCache;
+        this.passwordHasher = passwordHasher;
         this.jwtService = jwtService;
+        this.continuationExecutor = continuationExecutor;
     }
 
-    public AuthResponse register(RegisterRequest request) {
+    public CompletableFuture<AuthResponse> register(RegisterRequest request) {
 
         if (userDao.existsByUsername(request.getUsername())) {
-            return new AuthResponse("Username já está em uso", false);
+            return CompletableFuture.completedFuture(new AuthResponse("Username já está em uso", false));
         }
 
         if (userDao.existsByEmail(request.getEmail())) {
-            return new AuthResponse("Email já está em uso", false);
+            return CompletableFuture.completedFuture(new AuthResponse("Email já está em uso", false));
         }
 
-        User user = new User();
-        user.setUsername(request.getUsername());
-        user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        return passwordHasher.encode(request.getPassword()).thenApplyAsync(encodedPassword -> {
+            User user = new User();
+            user.setUsername(request.getUsername());
+            user.setEmail(request.getEmail());
+            user.setPassword(encodedPassword);
 
-        User savedUser = userDao.save(user);
+            User savedUser = userCache.save(user);
 
-        String token = jwtService.generateToken(savedUser.getUsername(), savedUser.getId());
+            String token = jwtService.generateToken(savedUser.getUsername(), savedUser.getId());
 
-        return new AuthResponse(
-                "Usuário registrado com sucesso",
-                true,
-                savedUser.getId(),
-                savedUser.getUsername(),
-                token
-        );
+            return new AuthResponse(
+                    "Usuário registrado com sucesso",
+                    true,
+                    savedUser.getId(),
+                    savedUser.getUsername(),
+                    token
+            );
+        }, continuationExecutor);
     }
 
-    public AuthResponse login(LoginRequest request) {
+    public CompletableFuture<AuthResponse> login(LoginRequest request) {
 
-        Optional<User> userOptional = userDao.findByUsername(request.getUsername());
+        Optional<User> userOptional = userCache.findByUsername(request.getUsername());
 
         if (userOptional.isEmpty()) {
-            return new AuthResponse("Username ou senha inválidos", false);
+            return CompletableFuture.completedFuture(new AuthResponse("Username ou senha inválidos", false));
         }
 
         User user = userOptional.get();
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-            return new AuthResponse("Username ou senha inválidos", false);
-        }
-
-        String token = jwtService.generateToken(user.getUsername(), user.getId());
+        return passwordHasher.matches(request.getPassword(), user.getPassword()).thenApplyAsync(matches -> {
+            if (!matches) {
+                return new AuthResponse("Username ou senha inválidos", false);
+            }
+
+            if (passwordHasher.needsRehash(user.getPassword())) {
+                rehash(user, request.getPassword());
+            }
+
+            String token = jwtService.generateToken(user.getUsername(), user.getId());
+
+            return new AuthResponse(
+                    "Login realizado com sucesso",
+                    true,
+                    user.getId(),
+                    user.getUsername(),
+                    token
+            );
+        }, continuationExecutor);
+    }
 
-        return new AuthResponse(
-                "Login realizado com sucesso",
-                true,
-                user.getId(),
-                user.getUsername(),
-                token
-        );
+    /**
+     * Regrava a senha com o custo atual, sem segurar a resposta do login. Se a fila
+     * estiver cheia, fica para o próximo login.
+     */
+    private void rehash(User user, String rawPassword) {
+        passwordHasher.encode(rawPassword)
+                .thenAcceptAsync(encodedPassword -> {
+                    userCache.updatePassword(user.getId(), encodedPassword);
+                    System.out.println("🔐 Senha do usuário " + user.getId() + " regravada com custo " + passwordHasher.getCost());
+                }, continuationExecutor)
+                .exceptionally(error -> {
+                    System.err.println("AVISO: rehash da senha do usuário " + user.getId() + " adiado: " + error.getMessage());
+                    return null;
+                });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,77 @@
+package com.backend.gs.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor limitado para as chamadas às Lambdas feitas fora do request
+ * (mensagens do outbox reservadas pelo OutboxDispatcher).
+ *
+ * Threads e fila têm tamanho fixo (job.dispatch.*). Com a fila cheia a tarefa roda
+ * na própria thread de quem chamou, em vez de acumular trabalho sem limite. O
+ * OutboxDispatcher só reserva o que cabe em {@link #idleThreads()}: uma mensagem
+ * reservada nunca espera na fila enquanto o lease dela corre.
+ */
+@Component
+public class JobDispatcher {
+
+    private final ThreadPoolExecutor executor;
+    private final long shutdownTimeoutMs;
+
+    public JobDispatcher(@Value("${job.dispatch.threads:4}") int threads,
+                         @Value("${job.dispatch.queue-capacity:200}") int queueCapacity,
+                         @Value("${job.dispatch.shutdown-timeout-ms:30000}") long shutdownTimeoutMs,
+                         ObjectProvider<MeterRegistry> meterRegistry) {
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread thread = new Thread(r, "job-dispatch-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            // executor.active, executor.queued, executor.completed, executor.pool.size...
+            ExecutorServiceMetrics.monitor(registry, executor, "jobDispatch");
+        }
+    }
+
+    public void dispatch(Runnable task) {
+        executor.execute(task);
+    }
+
+    /**
+     * Threads livres agora: tamanho do pool menos as ocupadas e as tarefas já na fila
+     * (que vão ocupar a próxima thread que liberar).
+     */
+    public int idleThreads() {
+        return Math.max(0, executor.getMaximumPoolSize() - executor.getActiveCount() - executor.getQueue().size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Deixa terminar as chamadas já enfileiradas antes de derrubar o processo
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(shutdownTimeoutMs, TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
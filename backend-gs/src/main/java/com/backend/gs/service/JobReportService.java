@@ -1,29 +1,46 @@
 package com.backend.gs.service;
 
+import com.backend.gs.client.LambdaClient;
+import com.backend.gs.client.LambdaEndpoint;
+import com.backend.gs.client.LambdaResponseDecoder;
+import com.backend.gs.client.LambdaResponses;
 import com.backend.gs.dao.AudioFileDao;
 import com.backend.gs.dao.JobReportDao;
+import com.backend.gs.dao.LambdaOutboxDao;
+import com.backend.gs.database.OracleConnection;
+import com.backend.gs.dto.JobReportPageResponse;
+import com.backend.gs.dto.JobReportStatusBatchResponse;
 import com.backend.gs.dto.JobReportStatusResponse;
+import com.backend.gs.dto.JobReportSummaryResponse;
 import com.backend.gs.dto.PresignedUrlResponse;
 import com.backend.gs.dto.PresignedUploadUrlResponse;
 import com.backend.gs.model.AudioFile;
 import com.backend.gs.model.JobReport;
+import com.backend.gs.model.JobReportStatus;
+import com.backend.gs.model.LambdaOutboxMessage;
 import com.backend.gs.dto.JobReportRequest;
 import com.backend.gs.dto.JobReportResponse;
 import com.backend.gs.utils.JobInfoUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
+import java.io.InputStream;
 import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,241 +49,447 @@ public class JobReportService {
     private final JobReportDao jobReportDAO;
     private final AudioFileDao audioFileDao;
     private final S3Service s3Service;
+    private final OracleConnection oracleConnection;
+    private final LambdaClient lambdaClient;
+    private final PresignedUrlCache presignedUrlCache;
+    private final ReportCheckBackoff reportCheckBackoff;
+    private final LambdaOutboxDao lambdaOutboxDao;
+    private final OutboxDispatcher outboxDispatcher;
+    private final StatusCoalescer statusCoalescer;
+    // Lazy: o JobStatusNotifier também depende deste service
+    private final ObjectProvider<JobStatusNotifier> statusNotifier;
+    private final LambdaResponseDecoder lambdaResponseDecoder;
     private final ObjectMapper objectMapper;
 
-    @Value("${lambda.url:https://lv6bwqn7dfkqulrqquhlz3fhdy0zuzbx.lambda-url.us-east-1.on.aws/}")
-    private String lambdaUrl;
-
-    @Value("${lambda.presigned.url:https://6t7s4lvjy7aohaxruak6a3arfy0byiau.lambda-url.us-east-1.on.aws/}")
-    private String lambdaPresignedUrl;
-
-    @Value("${lambda.upload.urls:https://mcy4uuho2gkb3ey3f5fz3cko2a0kmcgl.lambda-url.us-east-1.on.aws/}")
-    private String lambdaUploadUrlsUrl;
-
-    @Value("${lambda.check.report.url:}")
-    private String lambdaCheckReportUrl;
-
     @Value("${s3.bucket.name}")
     private String s3BucketName;
 
     @Autowired
     public JobReportService(JobReportDao jobReportDAO, AudioFileDao audioFileDao, 
-                           S3Service s3Service) {
+                           S3Service s3Service, OracleConnection oracleConnection,
+                           LambdaClient lambdaClient, PresignedUrlCache presignedUrlCache,
+                           ReportCheckBackoff reportCheckBackoff, LambdaOutboxDao lambdaOutboxDao,
+                           OutboxDispatcher outboxDispatcher, StatusCoalescer statusCoalescer,
+                           LambdaResponseDecoder lambdaResponseDecoder, ObjectMapper objectMapper,
+                           ObjectProvider<JobStatusNotifier> statusNotifier) {
         this.jobReportDAO = jobReportDAO;
         this.audioFileDao = audioFileDao;
         this.s3Service = s3Service;
-        this.objectMapper = new ObjectMapper();
+        this.oracleConnection = oracleConnection;
+        this.lambdaClient = lambdaClient;
+        this.presignedUrlCache = presignedUrlCache;
+        this.reportCheckBackoff = reportCheckBackoff;
+        this.lambdaOutboxDao = lambdaOutboxDao;
+        this.outboxDispatcher = outboxDispatcher;
+        this.statusCoalescer = statusCoalescer;
+        this.lambdaResponseDecoder = lambdaResponseDecoder;
+        this.objectMapper = objectMapper;
+        this.statusNotifier = statusNotifier;
     }
 
+    /**
+     * Grava o job e a mensagem do outbox para a Lambda de geração de perguntas na
+     * mesma transação, e tenta a entrega na hora. A mensagem já nasce reservada para
+     * este request; se a chamada falhar ela fica para o OutboxDispatcher reenviar.
+     */
     public JobReportResponse createJobReport(JobReportRequest request, Long userId) throws Exception {
-        JobReport jobReport = new JobReport();
-        jobReport.setIdUser(userId);
-        jobReport.setCompany(request.getCompany());
-        jobReport.setTitle(request.getTitle());
-        jobReport.setDescription(request.getDescription());
-
-        jobReportDAO.save(jobReport);
+        JobReport jobReport = newJobReport(request, userId);
+        LambdaOutboxMessage message = saveWithOutbox(jobReport, request.getCallbackUrl(), 1, outboxDispatcher.leaseUntil());
 
         String jobInfo = JobInfoUtil.buildJobInfo(jobReport);
+        String sessionId = outboxDispatcher.deliver(message);
 
-        String sessionId = sendToLambda(jobInfo, request.getCallbackUrl(), jobReport.getIdJobReport());
+        return new JobReportResponse(jobInfo, sessionId, jobReport.getIdJobReport());
+    }
 
-        if (sessionId != null) {
-            jobReportDAO.updateSessionId(jobReport.getIdJobReport(), sessionId);
-            return new JobReportResponse(jobInfo, sessionId, jobReport.getIdJobReport());
-        }
+    /**
+     * Modo assíncrono do create: grava o job e a mensagem do outbox e devolve logo
+     * (sem session_id). O OutboxDispatcher chama a Lambda em background e grava o
+     * session_id depois via updateSessionId.
+     */
+    public JobReportResponse createJobReportAsync(JobReportRequest request, Long userId) throws Exception {
+        JobReport jobReport = newJobReport(request, userId);
+        saveWithOutbox(jobReport, request.getCallbackUrl(), 0, new Timestamp(System.currentTimeMillis()));
+        outboxDispatcher.wakeUp();
 
+        String jobInfo = JobInfoUtil.buildJobInfo(jobReport);
         return new JobReportResponse(jobInfo, null, jobReport.getIdJobReport());
     }
 
-    private String sendToLambda(String jobInfo, String callbackUrl, Long jobReportId) throws Exception {
-        HttpClient client = HttpClient.newHttpClient();
-
-        // Cria o JSON com job_info, callback_url e job_report_id
-        String jsonBody = objectMapper.writeValueAsString(new LambdaRequest(jobInfo, callbackUrl, jobReportId));
+    private JobReport newJobReport(JobReportRequest request, Long userId) {
+        JobReport jobReport = new JobReport();
+        jobReport.setIdUser(userId);
+        jobReport.setCompany(request.getCompany());
+        jobReport.setTitle(request.getTitle());
+        jobReport.setDescription(request.getDescription());
+        return jobReport;
+    }
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(lambdaUrl))
-                .header("Content-Type", "application/json")
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
-                .build();
+    private LambdaOutboxMessage saveWithOutbox(JobReport jobReport, String callbackUrl,
+                                               int attempts, Timestamp nextAttemptAt) throws Exception {
+        return oracleConnection.inTransaction(conn -> {
+            jobReportDAO.save(conn, jobReport);
 
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-        
-        // Tenta extrair session_id da resposta
-        if (response.statusCode() == 200) {
+            // Cria o JSON com job_info, callback_url e job_report_id
+            String jsonBody;
             try {
-                LambdaResponse lambdaResponse = objectMapper.readValue(response.body(), LambdaResponse.class);
-                return lambdaResponse.getSessionId();
-            } catch (Exception e) {
-                // Se não conseguir parsear, retorna null
-                return null;
+                jsonBody = objectMapper.writeValueAsString(new LambdaRequest(
+                        JobInfoUtil.buildJobInfo(jobReport), callbackUrl, jobReport.getIdJobReport()));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Falha ao serializar payload da Lambda", e);
             }
-        }
-        
-        return null;
+
+            LambdaOutboxMessage message = new LambdaOutboxMessage();
+            message.setIdJobReport(jobReport.getIdJobReport());
+            message.setEndpoint(LambdaEndpoint.GENERATE_QUESTIONS.name());
+            message.setPayload(jsonBody);
+            message.setAttempts(attempts);
+            message.setNextAttemptAt(nextAttemptAt);
+            return lambdaOutboxDao.save(conn, message);
+        });
+    }
+
+    /**
+     * Grava session_id e os paths dos áudios do callback audios-ready
+     * numa única transação (um batch JDBC, um commit) e avança o job para
+     * AUDIOS_READY se ele ainda estiver PENDING.
+     */
+    public void saveAudioPaths(Long jobReportId, String sessionId, List<String> audioFiles) throws Exception {
+        oracleConnection.inTransaction(conn -> {
+            if (sessionId != null) {
+                jobReportDAO.updateSessionId(conn, jobReportId, sessionId);
+            }
+            return saveAudioPaths(conn, jobReportId, audioFiles);
+        });
+        jobChanged(jobReportId);
     }
 
     public void saveAudioPaths(Long jobReportId, List<String> audioFiles) throws Exception {
-        for (String s3Path : audioFiles) {
-            // Extrai o nome do arquivo do path
-            String fileName = s3Path.substring(s3Path.lastIndexOf('/') + 1);
-            audioFileDao.save(jobReportId, s3Path, fileName);
+        oracleConnection.inTransaction(conn -> saveAudioPaths(conn, jobReportId, audioFiles));
+        jobChanged(jobReportId);
+    }
+
+    /**
+     * Grava os áudios e, se o callback trouxe algum, avança para AUDIOS_READY
+     * (mesmo num callback repetido, cujo upsert não insere nada). Devolve se avançou.
+     */
+    private boolean saveAudioPaths(Connection conn, long jobReportId, List<String> audioFiles) throws SQLException {
+        if (audioFiles == null || audioFiles.isEmpty()) {
+            return false;
         }
+        audioFileDao.saveAll(conn, jobReportId, audioFiles);
+        return jobReportDAO.advanceStatus(conn, jobReportId, JobReport.Status.AUDIOS_READY);
     }
 
+    /**
+     * Status do job; chamadas simultâneas para o mesmo id compartilham a mesma
+     * computação (ver StatusCoalescer).
+     */
     public JobReportStatusResponse getStatus(Long jobReportId) throws Exception {
-        JobReport jobReport = jobReportDAO.findById(jobReportId);
+        return statusCoalescer.get(jobReportId, this::loadStatus);
+    }
+
+    /**
+     * Status só com o que está gravado (sem o fallback da Lambda de relatório), para
+     * os pushes do JobStatusNotifier. Não passa pelo StatusCoalescer.
+     */
+    public JobReportStatusResponse getPersistedStatus(Long jobReportId) throws Exception {
+        return loadStatus(jobReportId, false);
+    }
+
+    private JobReportStatusResponse loadStatus(Long jobReportId) throws Exception {
+        return loadStatus(jobReportId, true);
+    }
+
+    /**
+     * O status vem da coluna STATUS (avançada pelo create e pelos callbacks); aqui
+     * só se montam as URLs. Com checkReport, a Lambda de relatório fica como fallback
+     * para jobs em AUDIOS_READY cujo callback report-ready não chegou.
+     */
+    private JobReportStatusResponse loadStatus(Long jobReportId, boolean checkReport) throws Exception {
+        JobReportStatus jobReport = jobReportDAO.findStatusById(jobReportId);
         if (jobReport == null) {
             throw new IllegalArgumentException("Job report not found: " + jobReportId);
         }
 
-        List<AudioFile> audioFiles = audioFileDao.findByJobReportId(jobReportId);
+        List<AudioFile> audioFiles = jobReport.getAudioFiles();
         
         System.out.println("=== GET STATUS para Job Report " + jobReportId + " ===");
+        System.out.println("Status gravado: " + jobReport.getStatus());
         System.out.println("Áudios encontrados: " + audioFiles.size());
-        
-        // Remove duplicatas baseado no S3_PATH (mantém apenas o mais recente)
-        if (audioFiles.size() > 0) {
-            Map<String, AudioFile> uniqueAudios = new LinkedHashMap<>();
-            for (AudioFile audio : audioFiles) {
-                String s3Path = audio.getS3Path();
-                // Se já existe, mantém o mais recente (baseado no CREATED_AT)
-                if (!uniqueAudios.containsKey(s3Path) || 
-                    (audio.getCreatedAt() != null && uniqueAudios.get(s3Path).getCreatedAt() != null &&
-                     audio.getCreatedAt().after(uniqueAudios.get(s3Path).getCreatedAt()))) {
-                    uniqueAudios.put(s3Path, audio);
+        System.out.println("Session ID: " + jobReport.getSessionId());
+
+        if (jobReport.getStatus() == JobReport.Status.PENDING) {
+            System.out.println("=== FIM GET STATUS ===");
+            return new JobReportStatusResponse(JobReportStatusResponse.Status.PENDING, null, null);
+        }
+
+        List<PresignedUrlResponse> audioUrls;
+        try {
+            audioUrls = generatePresignedUrls(audioFiles);
+            System.out.println("URLs pré-assinadas geradas: " + audioUrls.size());
+        } catch (Exception e) {
+            System.err.println("ERRO ao gerar presigned URLs: " + e.getMessage());
+            e.printStackTrace();
+            // Mesmo com erro, mantém o status gravado
+            audioUrls = new ArrayList<>();
+        }
+
+        JobReportStatusResponse response = checkReport
+                ? resolveStatus(jobReport, audioUrls)
+                : persistedStatus(jobReport, audioUrls);
+        System.out.println("=== FIM GET STATUS ===");
+        return response;
+    }
+
+    /**
+     * Página dos job reports do usuário (mais novos primeiro). Busca um item a mais
+     * só para saber se existe próxima página.
+     */
+    public JobReportPageResponse listByUser(Long userId, Long afterId, int limit) throws Exception {
+        List<JobReport> rows = jobReportDAO.findPageByUser(userId, afterId, limit + 1);
+
+        boolean hasMore = rows.size() > limit;
+        List<JobReportSummaryResponse> items = new ArrayList<>(Math.min(rows.size(), limit));
+        for (int i = 0; i < rows.size() && i < limit; i++) {
+            items.add(new JobReportSummaryResponse(rows.get(i)));
+        }
+
+        Long nextAfter = hasMore ? items.get(items.size() - 1).getJobReportId() : null;
+        return new JobReportPageResponse(items, nextAfter);
+    }
+
+    /**
+     * Status de várias entregas de uma vez (dashboard): duas consultas para todos os
+     * ids e uma assinatura em lote para todos os áudios. O status é o gravado, sem o
+     * fallback da Lambda de relatório (até 100 chamadas em série num request); jobs em
+     * AUDIOS_READY avançam pelos callbacks ou pelo getStatus de um id só.
+     * Ids inexistentes ou que falharem vão para "errors" sem derrubar o lote.
+     */
+    public JobReportStatusBatchResponse getStatuses(List<Long> jobReportIds) throws Exception {
+        Set<Long> ids = new LinkedHashSet<>(jobReportIds);
+        ids.remove(null);
+        Map<Long, JobReportStatus> jobReports = jobReportDAO.findStatusByIds(ids);
+
+        List<AudioFile> audioFiles = jobReports.values().stream()
+                .filter(jobReport -> jobReport.getStatus() != JobReport.Status.PENDING)
+                .flatMap(jobReport -> jobReport.getAudioFiles().stream())
+                .collect(Collectors.toList());
+        Map<String, String> signed;
+        try {
+            signed = presignAudioFiles(audioFiles);
+        } catch (Exception e) {
+            System.err.println("ERRO ao gerar presigned URLs do lote: " + e.getMessage());
+            signed = null;
+        }
+
+        Map<Long, JobReportStatusResponse> statuses = new LinkedHashMap<>();
+        Map<Long, String> errors = new LinkedHashMap<>();
+        for (Long id : ids) {
+            JobReportStatus jobReport = jobReports.get(id);
+            if (jobReport == null) {
+                errors.put(id, "Job report not found");
+                continue;
+            }
+            try {
+                if (jobReport.getStatus() == JobReport.Status.PENDING) {
+                    statuses.put(id, new JobReportStatusResponse(JobReportStatusResponse.Status.PENDING, null, null));
+                } else {
+                    List<PresignedUrlResponse> audioUrls = signed == null
+                            ? new ArrayList<>()
+                            : toPresignedUrlResponses(jobReport.getAudioFiles(), signed);
+                    statuses.put(id, persistedStatus(jobReport, audioUrls));
                 }
+            } catch (Exception e) {
+                System.err.println("ERRO ao montar status do job report " + id + ": " + e.getMessage());
+                errors.put(id, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
             }
-            audioFiles = new ArrayList<>(uniqueAudios.values());
-            System.out.println("Áudios únicos após remoção de duplicatas: " + audioFiles.size());
         }
-        
-        System.out.println("Session ID: " + jobReport.getSessionId());
-        
-        JobReportStatusResponse.Status status;
-        List<PresignedUrlResponse> audioUrls = null;
+
+        return new JobReportStatusBatchResponse(statuses, errors);
+    }
+
+    /**
+     * Status de um job já fora de PENDING, com as URLs dos áudios já montadas.
+     */
+    private JobReportStatusResponse resolveStatus(JobReportStatus jobReport, List<PresignedUrlResponse> audioUrls) {
+        if (jobReport.getStatus() == JobReport.Status.REPORT_READY) {
+            return persistedStatus(jobReport, audioUrls);
+        }
+
+        // AUDIOS_READY: verifica via Lambda (polling/fallback)
+        JobReportStatusResponse.Status status = JobReportStatusResponse.Status.AUDIOS_READY;
         String reportUrl = null;
+        String sessionId = jobReport.getSessionId();
 
-        if (audioFiles.isEmpty()) {
-            status = JobReportStatusResponse.Status.PENDING;
-            System.out.println("Status: PENDING (nenhum áudio encontrado)");
-        } else {
+        if (sessionId == null || !lambdaClient.isConfigured(LambdaEndpoint.CHECK_REPORT)) {
+            System.out.println("Status: AUDIOS_READY (sem session_id)");
+        }
+        // Com o circuit breaker da Lambda aberto, degrada sem verificar
+        else if (!lambdaClient.isAvailable(LambdaEndpoint.CHECK_REPORT)) {
+            System.out.println("Status: AUDIOS_READY (Lambda de relatório indisponível)");
+        }
+        // (um "não pronto" recente fica no cache negativo até o próximo backoff)
+        else if (!reportCheckBackoff.shouldCheck(sessionId)) {
+            System.out.println("Status: AUDIOS_READY (verificação em backoff)");
+        }
+        else {
             try {
-                audioUrls = generatePresignedUrls(audioFiles);
-                System.out.println("URLs pré-assinadas geradas: " + (audioUrls != null ? audioUrls.size() : 0));
-            } catch (Exception e) {
-                System.err.println("ERRO ao gerar presigned URLs: " + e.getMessage());
-                e.printStackTrace();
-                // Mesmo com erro, define status como AUDIOS_READY se houver áudios salvos
-                audioUrls = new ArrayList<>();
-            }
-            
-            // Verifica se relatório está pronto
-            // Prioridade 1: Verifica se já tem URL salva no banco (via callback)
-            if (jobReport.getReportUrl() != null && !jobReport.getReportUrl().isEmpty()) {
-                reportUrl = jobReport.getReportUrl();
-                status = JobReportStatusResponse.Status.REPORT_READY;
-                System.out.println("Status: REPORT_READY (URL do banco)");
-            }
-            // Prioridade 2: Verifica via Lambda (polling/fallback)
-            else if (jobReport.getSessionId() != null && lambdaCheckReportUrl != null && !lambdaCheckReportUrl.isEmpty()) {
-                try {
-                    reportUrl = checkOrGenerateReport(jobReport.getSessionId());
-                    if (reportUrl != null && !reportUrl.isEmpty()) {
-                        // Salva no banco para não precisar verificar novamente
-                        try {
-                            jobReportDAO.updateReportUrl(jobReport.getIdJobReport(), reportUrl);
-                        } catch (Exception e) {
-                            System.err.println("⚠️ Erro ao salvar reportUrl no banco: " + e.getMessage());
+                reportUrl = checkOrGenerateReport(sessionId);
+                if (reportUrl != null && !reportUrl.isEmpty()) {
+                    reportCheckBackoff.invalidate(sessionId);
+                    // Grava URL e status para não precisar verificar novamente
+                    try {
+                        if (saveReportUrl(jobReport.getIdJobReport(), reportUrl)) {
+                            jobChanged(jobReport.getIdJobReport());
                         }
-                    status = JobReportStatusResponse.Status.REPORT_READY;
-                        System.out.println("Status: REPORT_READY (verificado via Lambda)");
-                    } else {
-                        status = JobReportStatusResponse.Status.AUDIOS_READY;
-                        System.out.println("Status: AUDIOS_READY (relatório ainda não gerado)");
+                    } catch (Exception e) {
+                        System.err.println("⚠️ Erro ao salvar reportUrl no banco: " + e.getMessage());
                     }
-                } catch (Exception e) {
-                    status = JobReportStatusResponse.Status.AUDIOS_READY;
-                    System.out.println("Status: AUDIOS_READY (erro ao verificar relatório: " + e.getMessage() + ")");
+                    status = JobReportStatusResponse.Status.REPORT_READY;
+                    System.out.println("Status: REPORT_READY (verificado via Lambda)");
+                } else {
+                    reportCheckBackoff.recordNotReady(sessionId);
+                    System.out.println("Status: AUDIOS_READY (relatório ainda não gerado)");
                 }
-            } else {
-                status = JobReportStatusResponse.Status.AUDIOS_READY;
-                System.out.println("Status: AUDIOS_READY (sem session_id)");
+            } catch (Exception e) {
+                System.out.println("Status: AUDIOS_READY (erro ao verificar relatório: " + e.getMessage() + ")");
             }
         }
 
-        System.out.println("=== FIM GET STATUS ===");
         return new JobReportStatusResponse(status, audioUrls, reportUrl);
     }
 
+    /**
+     * Status de um job já fora de PENDING só com o que está gravado (sem chamar a Lambda).
+     */
+    private static JobReportStatusResponse persistedStatus(JobReportStatus jobReport, List<PresignedUrlResponse> audioUrls) {
+        if (jobReport.getStatus() == JobReport.Status.REPORT_READY) {
+            return new JobReportStatusResponse(JobReportStatusResponse.Status.REPORT_READY, audioUrls, jobReport.getReportUrl());
+        }
+        return new JobReportStatusResponse(JobReportStatusResponse.Status.AUDIOS_READY, audioUrls, null);
+    }
+
     public List<PresignedUrlResponse> generatePresignedUrls(List<AudioFile> audioFiles) {
+        return toPresignedUrlResponses(audioFiles, presignAudioFiles(audioFiles));
+    }
+
+    /**
+     * path -> URL presigned para os áudios (paths repetidos são assinados uma vez).
+     */
+    private Map<String, String> presignAudioFiles(List<AudioFile> audioFiles) {
+        if (audioFiles.isEmpty()) {
+            return Map.of();
+        }
+        List<String> s3Paths = audioFiles.stream()
+                .map(AudioFile::getS3Path)
+                .distinct()
+                .collect(Collectors.toList());
+
+        // URLs ainda válidas vêm do cache; só os paths ausentes são assinados
+        return presignedUrlCache.getAll(
+                s3Paths, s3Service.getDefaultExpirationSeconds(), this::presignDownloadUrls);
+    }
+
+    private static List<PresignedUrlResponse> toPresignedUrlResponses(List<AudioFile> audioFiles, Map<String, String> signed) {
         return audioFiles.stream()
-                .map(audioFile -> {
-                    try {
-                        // Chama a Lambda para gerar presigned URL de download
-                        String presignedUrl = generatePresignedDownloadUrl(audioFile.getS3Path());
-                        return new PresignedUrlResponse(audioFile.getS3Path(), presignedUrl, audioFile.getFileName());
-                    } catch (Exception e) {
-                        System.err.println("ERRO ao gerar presigned URL para " + audioFile.getS3Path() + ": " + e.getMessage());
-                        e.printStackTrace();
-                        // Retorna uma resposta sem presigned URL em caso de erro
-                        return new PresignedUrlResponse(audioFile.getS3Path(), null, audioFile.getFileName());
-                    }
-                })
-                .filter(response -> response != null)
+                .map(audioFile -> new PresignedUrlResponse(
+                        audioFile.getS3Path(), signed.get(audioFile.getS3Path()), audioFile.getFileName()))
                 .collect(Collectors.toList());
     }
 
-    private String generatePresignedDownloadUrl(String s3Path) throws Exception {
-        HttpClient client = HttpClient.newHttpClient();
+    /**
+     * Assina localmente todos os paths de uma vez, com X-Amz-Date fixo em signedAt;
+     * a Lambda fica só como fallback (assina com o relógio dela, validade maior ou igual).
+     * Paths que falharem nos dois caminhos ficam fora do mapa.
+     */
+    private Map<String, String> presignDownloadUrls(Set<String> s3Paths, Instant signedAt) {
+        Map<String, String> signed = new HashMap<>();
+        if (s3Service.isLocalSigningEnabled()) {
+            signed.putAll(s3Service.presignGet(
+                    new ArrayList<>(s3Paths), s3Service.getDefaultExpirationSeconds(), signedAt));
+        }
+
+        for (String s3Path : s3Paths) {
+            if (signed.containsKey(s3Path)) {
+                continue;
+            }
+            if (!lambdaClient.isAvailable(LambdaEndpoint.PRESIGNED_URL)) {
+                // Circuito aberto: devolve sem URL em vez de esperar a Lambda
+                break;
+            }
+            try {
+                // Chama a Lambda para gerar presigned URL de download
+                signed.put(s3Path, generatePresignedDownloadUrl(s3Path));
+            } catch (Exception e) {
+                System.err.println("ERRO ao gerar presigned URL para " + s3Path + ": " + e.getMessage());
+            }
+        }
+        return signed;
+    }
 
+    private String generatePresignedDownloadUrl(String s3Path) throws Exception {
         // Cria o JSON com s3_path para download
         Map<String, String> requestBody = new HashMap<>();
         requestBody.put("s3_path", s3Path);
         String jsonBody = objectMapper.writeValueAsString(requestBody);
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(lambdaPresignedUrl))
-                .header("Content-Type", "application/json")
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
-                .build();
-
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<InputStream> response = lambdaClient.post(
+                LambdaEndpoint.PRESIGNED_URL, jsonBody, HttpResponse.BodyHandlers.ofInputStream());
 
         if (response.statusCode() != 200) {
-            throw new Exception("Failed to get presigned URL from Lambda: " + response.body());
+            throw new Exception("Failed to get presigned URL from Lambda: " + LambdaResponseDecoder.errorBody(response));
         }
 
-        // Parse da resposta da Lambda
-        String responseBody = response.body();
+        // Lambda Function URL retorna {statusCode: 200, body: "..."} (ou o JSON direto)
+        LambdaResponses.PresignedDownload download;
         try {
-            // Lambda Function URL retorna {statusCode: 200, body: "..."}
-            com.fasterxml.jackson.databind.JsonNode jsonNode = objectMapper.readTree(responseBody);
-            String bodyStr;
-            if (jsonNode.has("body")) {
-                bodyStr = jsonNode.get("body").asText();
-            } else {
-                bodyStr = responseBody;
-            }
-            
-            com.fasterxml.jackson.databind.JsonNode bodyNode = objectMapper.readTree(bodyStr);
-            if (bodyNode.has("presigned_url")) {
-                return bodyNode.get("presigned_url").asText();
-            } else {
-                throw new Exception("Lambda response missing presigned_url: " + bodyStr);
-            }
+            download = lambdaResponseDecoder.presignedDownload(response.body());
         } catch (Exception e) {
-            throw new Exception("Failed to parse Lambda response: " + responseBody, e);
+            throw new Exception("Failed to parse Lambda response", e);
         }
+        if (download.presignedUrl() == null) {
+            throw new Exception("Lambda response missing presigned_url");
+        }
+        return download.presignedUrl();
     }
 
     public void updateSessionId(Long jobReportId, String sessionId) throws Exception {
         jobReportDAO.updateSessionId(jobReportId, sessionId);
+        statusCoalescer.invalidate(jobReportId);
     }
 
     public void updateReportUrl(Long jobReportId, String reportUrl) throws Exception {
-        jobReportDAO.updateReportUrl(jobReportId, reportUrl);
+        saveReportUrl(jobReportId, reportUrl);
+        jobChanged(jobReportId);
+    }
+
+    /**
+     * Grava a URL do relatório e avança o job para REPORT_READY na mesma transação.
+     * Devolve true se o status avançou agora.
+     */
+    private boolean saveReportUrl(long jobReportId, String reportUrl) throws SQLException {
+        return oracleConnection.inTransaction(conn -> {
+            jobReportDAO.updateReportUrl(conn, jobReportId, reportUrl);
+            return jobReportDAO.advanceStatus(conn, jobReportId, JobReport.Status.REPORT_READY);
+        });
+    }
+
+    /**
+     * Toda escrita que muda o que o getStatus devolve passa por aqui: descarta o
+     * status coalescido e avisa os clientes SSE/long-poll do job (callbacks e o
+     * fallback via Lambda do getStatus).
+     */
+    private void jobChanged(Long jobReportId) {
+        statusCoalescer.invalidate(jobReportId);
+        statusNotifier.ifAvailable(notifier -> notifier.publish(jobReportId));
+    }
+
+    /**
+     * Chamado pelo callback report-ready: descarta o "não pronto" em cache da sessão.
+     */
+    public void invalidateReportCheck(String sessionId) {
+        reportCheckBackoff.invalidate(sessionId);
     }
     
     public void migrateReportUrlColumn() throws Exception {
@@ -274,53 +497,44 @@ public class JobReportService {
     }
 
     public PresignedUploadUrlResponse generatePresignedUploadUrl(String sessionId, String filename) throws Exception {
-        HttpClient client = HttpClient.newHttpClient();
+        if (s3Service.isLocalSigningEnabled()) {
+            // Mesmo layout de chave usado pela Lambda: responses-audios/{session_id}/{filename}
+            String s3Key = "responses-audios/" + sessionId + "/" + filename;
+            try {
+                String presignedUrl = s3Service.presignPut(s3BucketName, s3Key);
+                return new PresignedUploadUrlResponse(sessionId, presignedUrl, s3Key, s3Service.getDefaultExpirationSeconds());
+            } catch (RuntimeException e) {
+                System.err.println("ERRO ao assinar upload localmente, usando Lambda: " + e.getMessage());
+            }
+        }
 
         // Cria o JSON com session_id e filename
         String jsonBody = objectMapper.writeValueAsString(new PresignedUrlLambdaRequest(sessionId, filename));
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(lambdaPresignedUrl))
-                .header("Content-Type", "application/json")
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
-                .build();
-
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<InputStream> response = lambdaClient.post(
+                LambdaEndpoint.PRESIGNED_URL, jsonBody, HttpResponse.BodyHandlers.ofInputStream());
 
         if (response.statusCode() != 200) {
-            throw new Exception("Failed to get presigned URL from Lambda: " + response.body());
+            throw new Exception("Failed to get presigned URL from Lambda: " + LambdaResponseDecoder.errorBody(response));
         }
 
-        // Parse da resposta da Lambda (Lambda Function URL retorna {statusCode, body})
-        String responseBody = response.body();
-        PresignedUrlLambdaResponse lambdaResponse;
-        
+        // Lambda Function URL retorna {statusCode, body} (body em string ou objeto) ou o JSON direto
+        LambdaResponses.PresignedUpload lambdaResponse;
         try {
-            // Lambda Function URL retorna {statusCode: 200, body: "..."}
-            com.fasterxml.jackson.databind.JsonNode jsonNode = objectMapper.readTree(responseBody);
-            if (jsonNode.has("body")) {
-                // O body pode ser uma string JSON ou um objeto JSON
-                String bodyStr = jsonNode.get("body").asText();
-                lambdaResponse = objectMapper.readValue(bodyStr, PresignedUrlLambdaResponse.class);
-            } else {
-                // Se não tiver campo body, tenta parsear diretamente
-                lambdaResponse = objectMapper.readValue(responseBody, PresignedUrlLambdaResponse.class);
-            }
+            lambdaResponse = lambdaResponseDecoder.presignedUpload(response.body());
         } catch (Exception e) {
-            throw new Exception("Failed to parse Lambda response: " + responseBody, e);
+            throw new Exception("Failed to parse Lambda response", e);
         }
         
         return new PresignedUploadUrlResponse(
-                lambdaResponse.getSession_id(),
-                lambdaResponse.getPresigned_url(),
-                lambdaResponse.getS3_key(),
-                lambdaResponse.getExpires_in()
+                lambdaResponse.sessionId(),
+                lambdaResponse.presignedUrl(),
+                lambdaResponse.s3Key(),
+                lambdaResponse.expiresIn()
         );
     }
 
     public com.backend.gs.dto.GenerateUploadUrlsResponse generateMultipleUploadUrls(Long jobReportId, Integer numQuestions, String callbackUrl) throws Exception {
-        HttpClient client = HttpClient.newHttpClient();
-
         // Cria o payload para a Lambda
         Map<String, Object> payload = new HashMap<>();
         payload.put("job_report_id", jobReportId);
@@ -329,48 +543,33 @@ public class JobReportService {
         
         String jsonBody = objectMapper.writeValueAsString(payload);
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(lambdaUploadUrlsUrl))
-                .header("Content-Type", "application/json")
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
-                .build();
-
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<InputStream> response = lambdaClient.post(
+                LambdaEndpoint.UPLOAD_URLS, jsonBody, HttpResponse.BodyHandlers.ofInputStream());
 
         if (response.statusCode() != 200) {
-            throw new Exception("Failed to get upload URLs from Lambda: " + response.body());
+            throw new Exception("Failed to get upload URLs from Lambda: " + LambdaResponseDecoder.errorBody(response));
         }
 
-        // Parse da resposta da Lambda
-        String responseBody = response.body();
-        
+        LambdaResponses.UploadUrls lambdaResponse;
         try {
-            // A Lambda retorna diretamente o JSON (não tem wrapper statusCode/body)
-            com.fasterxml.jackson.databind.JsonNode jsonNode = objectMapper.readTree(responseBody);
-            
-            String sessionId = jsonNode.get("session_id").asText();
-            Integer expiresIn = jsonNode.has("expires_in") ? jsonNode.get("expires_in").asInt() : 3600;
-            
-            List<com.backend.gs.dto.GenerateUploadUrlsResponse.UploadUrlInfo> uploadUrls = new ArrayList<>();
-            
-            com.fasterxml.jackson.databind.JsonNode urlsArray = jsonNode.get("upload_urls");
-            if (urlsArray != null && urlsArray.isArray()) {
-                for (com.fasterxml.jackson.databind.JsonNode urlNode : urlsArray) {
-                    com.backend.gs.dto.GenerateUploadUrlsResponse.UploadUrlInfo urlInfo = 
-                        new com.backend.gs.dto.GenerateUploadUrlsResponse.UploadUrlInfo(
-                            urlNode.get("question_index").asInt(),
-                            urlNode.get("presigned_url").asText(),
-                            urlNode.get("s3_key").asText()
-                        );
-                    uploadUrls.add(urlInfo);
-                }
-            }
-            
-            return new com.backend.gs.dto.GenerateUploadUrlsResponse(sessionId, uploadUrls, expiresIn);
-            
+            lambdaResponse = lambdaResponseDecoder.uploadUrls(response.body());
         } catch (Exception e) {
-            throw new Exception("Failed to parse Lambda response: " + responseBody, e);
+            throw new Exception("Failed to parse Lambda response", e);
         }
+        if (lambdaResponse.sessionId() == null) {
+            throw new Exception("Lambda response missing session_id");
+        }
+
+        List<com.backend.gs.dto.GenerateUploadUrlsResponse.UploadUrlInfo> uploadUrls = new ArrayList<>();
+        if (lambdaResponse.uploadUrls() != null) {
+            for (LambdaResponses.UploadUrl url : lambdaResponse.uploadUrls()) {
+                uploadUrls.add(new com.backend.gs.dto.GenerateUploadUrlsResponse.UploadUrlInfo(
+                        url.questionIndex(), url.presignedUrl(), url.s3Key()));
+            }
+        }
+        Integer expiresIn = lambdaResponse.expiresIn() != null ? lambdaResponse.expiresIn() : 3600;
+
+        return new com.backend.gs.dto.GenerateUploadUrlsResponse(lambdaResponse.sessionId(), uploadUrls, expiresIn);
     }
 
     /**
@@ -382,45 +581,35 @@ public class JobReportService {
             return null;
         }
 
-        if (lambdaCheckReportUrl == null || lambdaCheckReportUrl.isEmpty()) {
+        if (!lambdaClient.isConfigured(LambdaEndpoint.CHECK_REPORT)) {
             System.err.println("⚠️ Lambda CheckReportStatus não configurada");
             return null;
         }
 
-        HttpClient client = HttpClient.newHttpClient();
-
         // Payload para a Lambda
         Map<String, Object> payload = new HashMap<>();
         payload.put("session_id", sessionId);
         
         String jsonBody = objectMapper.writeValueAsString(payload);
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(lambdaCheckReportUrl))
-                .header("Content-Type", "application/json")
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
-                .build();
-
         try {
             System.out.println("🔍 Verificando relatório via Lambda: " + sessionId);
             
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<InputStream> response = lambdaClient.post(
+                    LambdaEndpoint.CHECK_REPORT, jsonBody, HttpResponse.BodyHandlers.ofInputStream());
 
             if (response.statusCode() == 200) {
-                // Parse da resposta
-                com.fasterxml.jackson.databind.JsonNode jsonNode = objectMapper.readTree(response.body());
-                
-                boolean exists = jsonNode.has("exists") && jsonNode.get("exists").asBoolean();
+                LambdaResponses.CheckReport report = lambdaResponseDecoder.checkReport(response.body());
                 
-                if (exists && jsonNode.has("report_url")) {
-                    String reportUrl = jsonNode.get("report_url").asText();
+                if (report.exists() && report.reportUrl() != null) {
                     System.out.println("✅ Relatório encontrado!");
-                    return reportUrl;
+                    return report.reportUrl();
                 } else {
                     System.out.println("⏳ Relatório ainda não foi gerado");
                     return null;
                 }
             } else {
+                response.body().close();
                 System.err.println("❌ Lambda retornou status " + response.statusCode());
                 return null;
             }
@@ -447,13 +636,6 @@ public class JobReportService {
         public Long getJob_report_id() { return job_report_id; }
     }
 
-    private static class LambdaResponse {
-        private String session_id;
-
-        public String getSessionId() { return session_id; }
-        public void setSession_id(String session_id) { this.session_id = session_id; }
-    }
-
     private static class PresignedUrlLambdaRequest {
         private String session_id;
         private String filename;
@@ -466,20 +648,4 @@ public class JobReportService {
         public String getSession_id() { return session_id; }
         public String getFilename() { return filename; }
     }
-
-    private static class PresignedUrlLambdaResponse {
-        private String session_id;
-        private String presigned_url;
-        private String s3_key;
-        private Integer expires_in;
-
-        public String getSession_id() { return session_id; }
-        public void setSession_id(String session_id) { this.session_id = session_id; }
-        public String getPresigned_url() { return presigned_url; }
-        public void setPresigned_url(String presigned_url) { this.presigned_url = presigned_url; }
-        public String getS3_key() { return s3_key; }
-        public void setS3_key(String s3_key) { this.s3_key = s3_key; }
-        public Integer getExpires_in() { return expires_in; }
-        public void setExpires_in(Integer expires_in) { this.expires_in = expires_in; }
-    }
 }
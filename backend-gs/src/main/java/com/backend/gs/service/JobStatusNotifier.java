@@ -0,0 +1,233 @@
+package com.backend.gs.service;
+
+import com.backend.gs.dto.JobReportStatusResponse;
+import com.backend.gs.model.JobReport;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registro (por nó) de clientes acompanhando o status de um job report, via SSE
+ * ou long-poll (DeferredResult, sem prender thread do servlet).
+ *
+ * O JobReportService chama {@link #publish(Long)} quando o job muda (callbacks das
+ * Lambdas ou o fallback do getStatus que encontra o relatório pronto): o
+ * status gravado (sem chamar a Lambda de relatório) é enviado a todos os inscritos
+ * do job e os long-polls cujo status esperado foi atingido são respondidos. Os
+ * pushes rodam num executor próprio, separado dos heartbeats. O id de cada evento é o nome
+ * do status: como o status só avança, um cliente que reconecta com Last-Event-ID
+ * igual ao status atual não recebe o snapshot de novo.
+ */
+@Component
+public class JobStatusNotifier {
+
+    private static final String EVENT_NAME = "status";
+
+    private final JobReportService jobReportService;
+    private final Map<Long, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Waiter>> waiters = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService publisher;
+
+    @Value("${status.stream.timeout-ms:1800000}")
+    private long streamTimeoutMs;
+
+    public JobStatusNotifier(JobReportService jobReportService,
+                             @Value("${status.stream.heartbeat-seconds:15}") long heartbeatSeconds,
+                             @Value("${status.stream.publish-threads:2}") int publishThreads) {
+        this.jobReportService = jobReportService;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "status-stream");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.publisher = Executors.newFixedThreadPool(publishThreads, r -> {
+            Thread thread = new Thread(r, "status-publish");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::sendHeartbeats, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Inscreve um cliente no job e envia o status atual, a menos que o cliente
+     * já o tenha recebido (Last-Event-ID).
+     */
+    public SseEmitter subscribe(Long jobReportId, String lastEventId) throws Exception {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+
+        // Registra antes de ler o status para não perder um publish concorrente
+        Set<SseEmitter> emitters = subscribers.computeIfAbsent(jobReportId, id -> new CopyOnWriteArraySet<>());
+        emitters.add(emitter);
+
+        Runnable remove = () -> unsubscribe(jobReportId, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+
+        JobReportStatusResponse current;
+        try {
+            current = jobReportService.getStatus(jobReportId);
+        } catch (Exception e) {
+            unsubscribe(jobReportId, emitter);
+            throw e;
+        }
+
+        if (lastEventId == null || !lastEventId.equals(current.getStatus().name())) {
+            send(jobReportId, emitter, current);
+        }
+        return emitter;
+    }
+
+    /**
+     * Long-poll: responde assim que o job estiver em {@code target} ou além dele.
+     * Se já estiver, a resposta é imediata; senão o request fica estacionado até um
+     * callback avançar o estado ou o timeout vencer (aí devolve o status atual).
+     */
+    public DeferredResult<JobReportStatusResponse> awaitStatus(Long jobReportId,
+                                                               JobReportStatusResponse.Status target,
+                                                               Duration timeout) throws Exception {
+        DeferredResult<JobReportStatusResponse> result = new DeferredResult<>(timeout.toMillis());
+        Waiter waiter = new Waiter(target, result);
+
+        // Registra antes de ler o status para não perder um publish concorrente
+        waiters.computeIfAbsent(jobReportId, id -> new CopyOnWriteArraySet<>()).add(waiter);
+        result.onCompletion(() -> removeWaiter(jobReportId, waiter));
+        result.onTimeout(() -> {
+            try {
+                result.setResult(jobReportService.getStatus(jobReportId));
+            } catch (Exception e) {
+                result.setErrorResult(e);
+            }
+        });
+
+        JobReportStatusResponse current;
+        try {
+            current = jobReportService.getStatus(jobReportId);
+        } catch (Exception e) {
+            removeWaiter(jobReportId, waiter);
+            throw e;
+        }
+        if (waiter.isSatisfiedBy(current)) {
+            result.setResult(current);
+            removeWaiter(jobReportId, waiter);
+        }
+        return result;
+    }
+
+    /**
+     * Envia (em background) o status gravado para os inscritos do job.
+     */
+    public void publish(Long jobReportId) {
+        if (!hasSubscribers(jobReportId) && !hasWaiters(jobReportId)) {
+            return;
+        }
+        publisher.execute(() -> {
+            try {
+                JobReportStatusResponse status = jobReportService.getPersistedStatus(jobReportId);
+                for (SseEmitter emitter : subscribers.getOrDefault(jobReportId, Set.of())) {
+                    send(jobReportId, emitter, status);
+                }
+                for (Waiter waiter : waiters.getOrDefault(jobReportId, Set.of())) {
+                    if (waiter.isSatisfiedBy(status)) {
+                        waiter.result().setResult(status);
+                        removeWaiter(jobReportId, waiter);
+                    }
+                }
+            } catch (Exception e) {
+                System.err.println("ERRO ao publicar status do job " + jobReportId + ": " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Se algum job pode chegar em {@code target}: o status devolvido vem do status
+     * persistido (JobReport.Status), então só os status que existem lá são atingíveis.
+     */
+    public static boolean isReachable(JobReportStatusResponse.Status target) {
+        for (JobReport.Status status : JobReport.Status.values()) {
+            if (status.name().equals(target.name())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean hasSubscribers(Long jobReportId) {
+        Set<SseEmitter> emitters = subscribers.get(jobReportId);
+        return emitters != null && !emitters.isEmpty();
+    }
+
+    public boolean hasWaiters(Long jobReportId) {
+        Set<Waiter> pending = waiters.get(jobReportId);
+        return pending != null && !pending.isEmpty();
+    }
+
+    private void send(Long jobReportId, SseEmitter emitter, JobReportStatusResponse status) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .id(status.getStatus().name())
+                    .name(EVENT_NAME)
+                    .data(status, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            unsubscribe(jobReportId, emitter);
+        }
+    }
+
+    private void sendHeartbeats() {
+        subscribers.forEach((jobReportId, emitters) -> {
+            for (SseEmitter emitter : emitters) {
+                try {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | IllegalStateException e) {
+                    unsubscribe(jobReportId, emitter);
+                }
+            }
+        });
+    }
+
+    private void unsubscribe(Long jobReportId, SseEmitter emitter) {
+        subscribers.computeIfPresent(jobReportId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private void removeWaiter(Long jobReportId, Waiter waiter) {
+        waiters.computeIfPresent(jobReportId, (id, pending) -> {
+            pending.remove(waiter);
+            return pending.isEmpty() ? null : pending;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        publisher.shutdownNow();
+        subscribers.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+        subscribers.clear();
+        waiters.clear();
+    }
+
+    private record Waiter(JobReportStatusResponse.Status target, DeferredResult<JobReportStatusResponse> result) {
+
+        // Os estados só avançam (PENDING -> AUDIOS_READY -> REPORT_READY)
+        boolean isSatisfiedBy(JobReportStatusResponse status) {
+            return status.getStatus().ordinal() >= target.ordinal();
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.backend.gs.service;
 
 import com.backend.gs.config.JwtProperties;
+import com.backend.gs.model.AuthenticatedUser;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -18,9 +22,20 @@ public class JwtService {
     @Autowired
     private JwtProperties jwtProperties;
 
-    private SecretKey getSigningKey() {
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    // Chave e parser são imutáveis e thread-safe: montados uma vez só
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    public void init() {
         byte[] keyBytes = jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+        this.signingKey = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
     }
 
     public String generateToken(String username, Long userId) {
@@ -32,10 +47,34 @@ public class JwtService {
                 .claim("userId", userId)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    /**
+     * Verifica assinatura e expiração com um único parse e devolve o principal do
+     * request. Tokens já verificados vêm do VerifiedTokenCache até o próprio "exp".
+     * Lança JwtException se o token for inválido, expirado ou não tiver subject/userId/exp.
+     */
+    public AuthenticatedUser authenticate(String token) {
+        return verifiedTokenCache.get(token, this::verify);
+    }
+
+    private VerifiedTokenCache.VerifiedToken verify(String token) {
+        Claims claims = extractAllClaims(token);
+        String username = claims.getSubject();
+        Long userId = claims.get("userId", Long.class);
+        if (username == null || userId == null) {
+            throw new JwtException("Token sem subject ou userId");
+        }
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            // Todo token emitido por generateToken tem exp; sem ele o token valeria para sempre
+            throw new JwtException("Token sem exp");
+        }
+        return new VerifiedTokenCache.VerifiedToken(new AuthenticatedUser(userId, username), expiration.getTime());
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -55,11 +94,7 @@ public class JwtService {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     public Boolean isTokenExpired(String token) {
@@ -67,8 +102,7 @@ public class JwtService {
     }
 
     public Boolean validateToken(String token, String username) {
-        final String tokenUsername = extractUsername(token);
-        return (tokenUsername.equals(username) && !isTokenExpired(token));
+        final Claims claims = extractAllClaims(token);
+        return (username.equals(claims.getSubject()) && !claims.getExpiration().before(new Date()));
     }
 }
-
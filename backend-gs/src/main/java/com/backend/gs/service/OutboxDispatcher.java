@@ -0,0 +1,282 @@
+package com.backend.gs.service;
+
+import com.backend.gs.client.LambdaClient;
+import com.backend.gs.client.LambdaEndpoint;
+import com.backend.gs.client.LambdaResponseDecoder;
+import com.backend.gs.dao.JobReportDao;
+import com.backend.gs.dao.LambdaOutboxDao;
+import com.backend.gs.model.LambdaOutboxMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drena a tabela LAMBDA_OUTBOX: reserva mensagens vencidas em lotes (FOR UPDATE
+ * SKIP LOCKED, então várias instâncias drenam em paralelo sem pegar a mesma linha),
+ * chama a Lambda no JobDispatcher e registra o resultado.
+ *
+ * Falhas transitórias (rede, timeout, 408/429/5xx) voltam para a fila com backoff
+ * exponencial com jitter; erros 4xx e mensagens que esgotam outbox.max-attempts
+ * viram DEAD (dead letter). A entrega é at-least-once: a Lambda pode receber a mesma
+ * mensagem de novo se a instância cair depois da chamada e antes do markDone.
+ */
+@Component
+public class OutboxDispatcher {
+
+    private final LambdaOutboxDao outboxDao;
+    private final JobReportDao jobReportDao;
+    private final LambdaClient lambdaClient;
+    private final JobDispatcher jobDispatcher;
+    private final LambdaResponseDecoder responseDecoder;
+    private final StatusCoalescer statusCoalescer;
+    private final ScheduledExecutorService scheduler;
+
+    private final Counter delivered;
+    private final Counter retried;
+    private final Counter deadLettered;
+
+    @Value("${outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${outbox.poll-interval-ms:2000}")
+    private long pollIntervalMs;
+
+    @Value("${outbox.batch-size:20}")
+    private int batchSize;
+
+    @Value("${outbox.lease-seconds:180}")
+    private long leaseSeconds;
+
+    @Value("${outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${outbox.backoff.initial-ms:2000}")
+    private long initialBackoffMs;
+
+    @Value("${outbox.backoff.max-ms:300000}")
+    private long maxBackoffMs;
+
+    @Value("${outbox.retention-hours:72}")
+    private long retentionHours;
+
+    public OutboxDispatcher(LambdaOutboxDao outboxDao, JobReportDao jobReportDao, LambdaClient lambdaClient,
+                            JobDispatcher jobDispatcher, LambdaResponseDecoder responseDecoder,
+                            StatusCoalescer statusCoalescer, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.outboxDao = outboxDao;
+        this.jobReportDao = jobReportDao;
+        this.lambdaClient = lambdaClient;
+        this.jobDispatcher = jobDispatcher;
+        this.responseDecoder = responseDecoder;
+        this.statusCoalescer = statusCoalescer;
+        // Uma thread só: drenagens desta instância nunca se sobrepõem
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "lambda-outbox");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        this.delivered = outcomeCounter(registry, "done");
+        this.retried = outcomeCounter(registry, "retry");
+        this.deadLettered = outcomeCounter(registry, "dead");
+    }
+
+    private static Counter outcomeCounter(MeterRegistry registry, String result) {
+        return Counter.builder("lambda.outbox")
+                .tag("result", result)
+                .description("Resultado das entregas do outbox de Lambdas")
+                .register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            System.out.println("Outbox de Lambdas desabilitado nesta instância (outbox.enabled=false)");
+            return;
+        }
+        scheduler.scheduleWithFixedDelay(this::drain, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::purge, 1, 60, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Pede uma drenagem imediata (ex.: logo após o create assíncrono gravar a mensagem).
+     */
+    public void wakeUp() {
+        if (enabled) {
+            scheduler.execute(this::drain);
+        }
+    }
+
+    /**
+     * Instante até o qual uma mensagem recém-reservada fica com esta instância.
+     */
+    public Timestamp leaseUntil() {
+        return new Timestamp(System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(leaseSeconds));
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                // Com o circuito da Lambda aberto não reserva nada: as tentativas não são gastas à toa
+                if (!lambdaClient.isAvailable(LambdaEndpoint.GENERATE_QUESTIONS)) {
+                    return;
+                }
+                // Só o que começa a rodar já: na fila, o lease venceria antes da chamada
+                int limit = Math.min(batchSize, jobDispatcher.idleThreads());
+                if (limit <= 0) {
+                    return;
+                }
+
+                long now = System.currentTimeMillis();
+                List<LambdaOutboxMessage> claimed = outboxDao.claimDue(limit, new Timestamp(now), leaseUntil());
+                for (LambdaOutboxMessage message : claimed) {
+                    jobDispatcher.dispatch(() -> deliver(message));
+                }
+
+                if (claimed.size() < limit) {
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("ERRO ao drenar outbox de Lambdas: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Faz uma tentativa de entrega de uma mensagem já reservada e registra o resultado.
+     * Para GENERATE_QUESTIONS grava e devolve o session_id retornado pela Lambda.
+     */
+    public String deliver(LambdaOutboxMessage message) {
+        LambdaEndpoint endpoint;
+        try {
+            endpoint = LambdaEndpoint.valueOf(message.getEndpoint());
+        } catch (IllegalArgumentException e) {
+            recordDead(message, "Endpoint desconhecido: " + message.getEndpoint());
+            return null;
+        }
+
+        HttpResponse<InputStream> response;
+        try {
+            response = lambdaClient.post(endpoint, message.getPayload(), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            recordFailure(message, "Interrompido durante a chamada");
+            return null;
+        } catch (Exception e) {
+            recordFailure(message, e.getClass().getSimpleName() + ": " + e.getMessage());
+            return null;
+        }
+
+        int statusCode = response.statusCode();
+        if (statusCode >= 200 && statusCode < 300) {
+            String sessionId = null;
+            try {
+                if (endpoint == LambdaEndpoint.GENERATE_QUESTIONS) {
+                    sessionId = readSessionId(response.body());
+                    if (sessionId != null) {
+                        jobReportDao.updateSessionId(message.getIdJobReport(), sessionId);
+                        // Mesmo efeito do JobReportService.updateSessionId (que depende deste dispatcher)
+                        statusCoalescer.invalidate(message.getIdJobReport());
+                    }
+                } else {
+                    response.body().close();
+                }
+                outboxDao.markDone(message.getIdOutbox());
+                delivered.increment();
+            } catch (Exception e) {
+                // A Lambda já recebeu; sem o markDone a mensagem volta quando o lease expirar (at-least-once)
+                System.err.println("ERRO ao registrar entrega da mensagem " + message.getIdOutbox() + ": " + e.getMessage());
+            }
+            return sessionId;
+        }
+
+        String error = "HTTP " + statusCode + ": " + LambdaResponseDecoder.errorBody(response);
+        if (isRetryable(statusCode)) {
+            recordFailure(message, error);
+        } else {
+            recordDead(message, error);
+        }
+        return null;
+    }
+
+    private static boolean isRetryable(int statusCode) {
+        return statusCode == 408 || statusCode == 429 || statusCode >= 500;
+    }
+
+    private String readSessionId(InputStream body) {
+        try {
+            return responseDecoder.generateQuestions(body).sessionId();
+        } catch (Exception e) {
+            // Se não conseguir parsear, segue sem session_id (o callback ainda o envia)
+            return null;
+        }
+    }
+
+    private void recordFailure(LambdaOutboxMessage message, String error) {
+        if (message.getAttempts() >= maxAttempts) {
+            recordDead(message, error);
+            return;
+        }
+        try {
+            outboxDao.reschedule(message.getIdOutbox(), new Timestamp(System.currentTimeMillis() + backoffMillis(message.getAttempts())), error);
+            retried.increment();
+            System.err.println("⚠️ Lambda " + message.getEndpoint() + " falhou (job report " + message.getIdJobReport()
+                    + ", tentativa " + message.getAttempts() + "/" + maxAttempts + "): " + error);
+        } catch (Exception e) {
+            System.err.println("ERRO ao reagendar mensagem " + message.getIdOutbox() + ": " + e.getMessage());
+        }
+    }
+
+    private void recordDead(LambdaOutboxMessage message, String error) {
+        try {
+            outboxDao.markDead(message.getIdOutbox(), error);
+            deadLettered.increment();
+            System.err.println("❌ Mensagem " + message.getIdOutbox() + " (job report " + message.getIdJobReport()
+                    + ") movida para DEAD após " + message.getAttempts() + " tentativa(s): " + error);
+        } catch (Exception e) {
+            System.err.println("ERRO ao mover mensagem " + message.getIdOutbox() + " para DEAD: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Backoff exponencial com "equal jitter": metade fixa e metade aleatória, para
+     * instâncias que falharam juntas não voltarem todas no mesmo instante.
+     */
+    private long backoffMillis(int attempts) {
+        long exponential = initialBackoffMs << Math.min(attempts - 1, 30);
+        long delay = Math.min(maxBackoffMs, exponential > 0 ? exponential : maxBackoffMs);
+        long half = delay / 2;
+        return half + ThreadLocalRandom.current().nextLong(half + 1);
+    }
+
+    private void purge() {
+        try {
+            long cutoff = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(retentionHours);
+            int removed = outboxDao.deleteDoneBefore(new Timestamp(cutoff));
+            if (removed > 0) {
+                System.out.println("Outbox de Lambdas: " + removed + " mensagem(ns) entregue(s) removida(s)");
+            }
+        } catch (Exception e) {
+            System.err.println("ERRO ao limpar outbox de Lambdas: " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,187 @@
+package com.backend.gs.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt fora das threads do Tomcat: encode e matches rodam num pool próprio e
+ * limitado (auth.bcrypt.threads + auth.bcrypt.queue-capacity). Com a fila cheia a
+ * tarefa é recusada na hora ({@link PasswordHashingBusyException}, 503) em vez de
+ * um pico de logins ocupar todos os workers e atrasar os polls de status.
+ *
+ * O custo é calibrado na subida para ficar perto de auth.bcrypt.target-ms nesta
+ * máquina (nunca abaixo de auth.bcrypt.min-cost), a menos que auth.bcrypt.cost
+ * esteja fixo. Hashes gravados com custo menor que o local são refeitos no próximo
+ * login ({@link #needsRehash(String)}); nunca para baixo, senão nós com calibrações
+ * diferentes regravariam os hashes uns dos outros a cada login. Para um custo único
+ * no cluster, fixe auth.bcrypt.cost e a calibração deixa de valer.
+ */
+@Component
+public class PasswordHasher {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abyx]?\\$(\\d{2})\\$");
+    private static final String CALIBRATION_PASSWORD = "calibracao-do-custo-bcrypt";
+
+    private final ThreadPoolExecutor executor;
+    private final BCryptPasswordEncoder encoder;
+    private final int cost;
+    private final long waitTimeoutMs;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public PasswordHasher(@Value("${auth.bcrypt.threads:0}") int threads,
+                          @Value("${auth.bcrypt.queue-capacity:50}") int queueCapacity,
+                          @Value("${auth.bcrypt.wait-timeout-ms:10000}") long waitTimeoutMs,
+                          @Value("${auth.bcrypt.cost:0}") int fixedCost,
+                          @Value("${auth.bcrypt.target-ms:200}") long targetMs,
+                          @Value("${auth.bcrypt.min-cost:10}") int minCost,
+                          @Value("${auth.bcrypt.max-cost:14}") int maxCost,
+                          ObjectProvider<MeterRegistry> meterRegistry) {
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.cost = fixedCost > 0 ? fixedCost : calibrate(targetMs, minCost, maxCost);
+        this.encoder = new BCryptPasswordEncoder(cost);
+
+        // Padrão: metade dos núcleos, para o hash nunca tomar a CPU toda dos requests
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread thread = new Thread(r, "bcrypt-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        this.encodeTimer = hashTimer(registry, "encode");
+        this.matchesTimer = hashTimer(registry, "matches");
+        this.rejected = Counter.builder("auth.bcrypt.rejected")
+                .description("Hashes recusados com a fila do BCrypt cheia ou espera esgotada")
+                .register(registry);
+        Gauge.builder("auth.bcrypt.queue.depth", executor, e -> e.getQueue().size())
+                .description("Hashes aguardando na fila do BCrypt")
+                .register(registry);
+        Gauge.builder("auth.bcrypt.cost", () -> cost)
+                .description("Custo BCrypt usado nos novos hashes")
+                .register(registry);
+        // executor.active, executor.queued, executor.completed, executor.pool.size...
+        ExecutorServiceMetrics.monitor(registry, executor, "bcrypt");
+
+        System.out.println("🔐 BCrypt: custo " + cost + (fixedCost > 0 ? " (fixo)" : " (calibrado para ~" + targetMs + " ms)")
+                + ", " + poolSize + " thread(s), fila " + queueCapacity);
+    }
+
+    private static Timer hashTimer(MeterRegistry registry, String operation) {
+        return Timer.builder("auth.bcrypt")
+                .tag("operation", operation)
+                .description("Tempo de cálculo do BCrypt (sem a espera na fila)")
+                .register(registry);
+    }
+
+    /**
+     * Maior custo cujo tempo estimado cabe em targetMs, partindo de uma medição no
+     * minCost (cada +1 dobra o tempo).
+     */
+    private static int calibrate(long targetMs, int minCost, int maxCost) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minCost);
+        probe.encode(CALIBRATION_PASSWORD); // aquece o JIT
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            probe.encode(CALIBRATION_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        double estimatedMs = best / 1_000_000.0;
+        int cost = minCost;
+        while (cost < maxCost && estimatedMs * 2 <= targetMs) {
+            estimatedMs *= 2;
+            cost++;
+        }
+        return cost;
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    public CompletableFuture<String> encode(CharSequence rawPassword) {
+        return submit(encodeTimer, () -> encoder.encode(rawPassword));
+    }
+
+    public CompletableFuture<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(matchesTimer, () -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * O hash foi gravado com custo menor que o atual. Hashes mais fortes (de outro nó
+     * ou de uma calibração anterior) ficam como estão.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) < cost;
+    }
+
+    private <T> CompletableFuture<T> submit(Timer timer, Supplier<T> work) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                // Quem esperava já desistiu (timeout): não gasta CPU à toa
+                if (future.isDone()) {
+                    return;
+                }
+                try {
+                    future.complete(timer.record(work));
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            future.completeExceptionally(new PasswordHashingBusyException("Fila de hash de senha cheia"));
+            return future;
+        }
+
+        return future.orTimeout(waitTimeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionallyCompose(error -> {
+                    if (error instanceof TimeoutException) {
+                        rejected.increment();
+                        return CompletableFuture.failedFuture(
+                                new PasswordHashingBusyException("Hash de senha não concluído em " + waitTimeoutMs + " ms"));
+                    }
+                    return CompletableFuture.failedFuture(error);
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,12 @@
+package com.backend.gs.service;
+
+/**
+ * O hash de senha nem foi calculado: a fila do PasswordHasher está cheia ou a
+ * espera passou de auth.bcrypt.wait-timeout-ms. O AuthController responde 503.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
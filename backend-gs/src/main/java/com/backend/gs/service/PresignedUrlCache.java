@@ -0,0 +1,126 @@
+package com.backend.gs.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * Cache de presigned URLs de download, por S3 path.
+ *
+ * As URLs são emitidas em janelas de tempo alinhadas (s3.presign.cache.bucket-seconds):
+ * dentro da mesma janela, polls repetidos recebem exatamente a mesma URL (o navegador
+ * também pode cachear o áudio). A entrada é renovada na virada da janela ou antes de
+ * faltar refresh-ahead-seconds para a URL expirar, o que ocorrer primeiro.
+ *
+ * O loader recebe o início da janela como instante de assinatura: assim misses
+ * concorrentes e outros nós na mesma janela geram a mesma URL, e a validade é
+ * contada a partir desse instante.
+ */
+@Component
+public class PresignedUrlCache {
+
+    private final Cache<String, CachedUrl> cache;
+    private final Clock clock;
+    private final long bucketMillis;
+    private final long refreshAheadMillis;
+
+    public PresignedUrlCache(@Value("${s3.presign.cache.max-size:10000}") long maxSize,
+                             @Value("${s3.presign.cache.bucket-seconds:900}") long bucketSeconds,
+                             @Value("${s3.presign.cache.refresh-ahead-seconds:300}") long refreshAheadSeconds,
+                             ObjectProvider<MeterRegistry> meterRegistry) {
+        this.clock = Clock.systemUTC();
+        this.bucketMillis = TimeUnit.SECONDS.toMillis(bucketSeconds);
+        this.refreshAheadMillis = TimeUnit.SECONDS.toMillis(refreshAheadSeconds);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new StaleAt())
+                .recordStats()
+                .build();
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            // cache.gets{result=hit|miss}, cache.evictions, cache.size
+            CaffeineCacheMetrics.monitor(registry, cache, "presignedUrls");
+        }
+    }
+
+    /**
+     * Devolve as URLs em cache e chama o loader uma única vez com os paths que faltam.
+     * Paths que o loader não conseguir assinar ficam fora do mapa (e não são cacheados).
+     *
+     * @param loader recebe os paths ausentes e o instante de assinatura, e devolve path -> URL presigned
+     * @param expirationSeconds validade das URLs emitidas pelo loader, a partir do instante de assinatura
+     */
+    public Map<String, String> getAll(List<String> s3Paths, int expirationSeconds,
+                                      BiFunction<Set<String>, Instant, Map<String, String>> loader) {
+        long now = clock.millis();
+        long expirationMillis = TimeUnit.SECONDS.toMillis(expirationSeconds);
+        long signedAt = bucketStart(now);
+        if (signedAt + expirationMillis - refreshAheadMillis <= now) {
+            // Janela maior que a validade útil da URL: assina com o relógio atual
+            signedAt = now;
+        }
+        long staleAt = Math.min(bucketEnd(now), signedAt + expirationMillis - refreshAheadMillis);
+        Instant signingTime = Instant.ofEpochMilli(signedAt);
+
+        Map<String, CachedUrl> entries = cache.getAll(s3Paths, missing -> {
+            Map<String, CachedUrl> loaded = new HashMap<>();
+            loader.apply(Set.copyOf(missing), signingTime).forEach((path, url) -> {
+                if (url != null) {
+                    loaded.put(path, new CachedUrl(url, staleAt));
+                }
+            });
+            return loaded;
+        });
+
+        Map<String, String> urls = new HashMap<>();
+        entries.forEach((path, entry) -> urls.put(path, entry.url()));
+        return urls;
+    }
+
+    private long bucketStart(long now) {
+        return now / bucketMillis * bucketMillis;
+    }
+
+    private long bucketEnd(long now) {
+        return bucketStart(now) + bucketMillis;
+    }
+
+    private record CachedUrl(String url, long staleAtMillis) {
+    }
+
+    /**
+     * Expira cada entrada no instante calculado quando ela foi emitida.
+     */
+    private class StaleAt implements Expiry<String, CachedUrl> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedUrl value, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, value.staleAtMillis() - clock.millis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedUrl value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedUrl value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.backend.gs.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Cache negativo da verificação de relatório (Lambda CheckReportStatus).
+ *
+ * Quando a Lambda responde "ainda não existe", a sessão só volta a ser consultada
+ * depois de um intervalo que dobra a cada resposta negativa, até o teto configurado
+ * (próximo do tempo típico de geração do relatório). O callback report-ready
+ * invalida a entrada imediatamente.
+ */
+@Component
+public class ReportCheckBackoff {
+
+    private final Cache<String, Backoff> notReady;
+    private final long initialMillis;
+    private final long maxMillis;
+    private final double multiplier;
+
+    private final Counter invoked;
+    private final Counter suppressed;
+
+    public ReportCheckBackoff(@Value("${report.check.backoff.initial-seconds:5}") long initialSeconds,
+                              @Value("${report.check.backoff.max-seconds:120}") long maxSeconds,
+                              @Value("${report.check.backoff.multiplier:2.0}") double multiplier,
+                              @Value("${report.check.backoff.max-sessions:10000}") long maxSessions,
+                              ObjectProvider<MeterRegistry> meterRegistry) {
+        this.initialMillis = Duration.ofSeconds(initialSeconds).toMillis();
+        this.maxMillis = Duration.ofSeconds(maxSeconds).toMillis();
+        this.multiplier = multiplier;
+        // Sessões sem consulta por mais que duas vezes o teto são descartadas
+        this.notReady = Caffeine.newBuilder()
+                .maximumSize(maxSessions)
+                .expireAfterAccess(Duration.ofSeconds(maxSeconds * 2))
+                .build();
+
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        this.invoked = Counter.builder("lambda.report_check")
+                .tag("result", "invoked")
+                .description("Consultas à Lambda CheckReportStatus")
+                .register(registry);
+        this.suppressed = Counter.builder("lambda.report_check")
+                .tag("result", "suppressed")
+                .description("Consultas respondidas pelo cache negativo")
+                .register(registry);
+    }
+
+    /**
+     * true se a Lambda deve ser consultada agora para esta sessão.
+     */
+    public boolean shouldCheck(String sessionId) {
+        Backoff backoff = notReady.getIfPresent(sessionId);
+        if (backoff != null && System.currentTimeMillis() < backoff.nextCheckAt) {
+            suppressed.increment();
+            return false;
+        }
+        invoked.increment();
+        return true;
+    }
+
+    /**
+     * Registra uma resposta "não pronto" e agenda a próxima consulta.
+     */
+    public void recordNotReady(String sessionId) {
+        long now = System.currentTimeMillis();
+        notReady.asMap().compute(sessionId, (key, previous) -> {
+            long interval = previous == null
+                    ? initialMillis
+                    : Math.min(maxMillis, (long) (previous.intervalMillis * multiplier));
+            return new Backoff(interval, now + interval);
+        });
+    }
+
+    public void invalidate(String sessionId) {
+        if (sessionId != null) {
+            notReady.invalidate(sessionId);
+        }
+    }
+
+    private static class Backoff {
+        private final long intervalMillis;
+        private final long nextCheckAt;
+
+        Backoff(long intervalMillis, long nextCheckAt) {
+            this.intervalMillis = intervalMillis;
+            this.nextCheckAt = nextCheckAt;
+        }
+    }
+}
@@ -1,42 +1,181 @@
 package com.backend.gs.service;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.signer.AwsS3V4Signer;
+import software.amazon.awssdk.auth.signer.params.Aws4PresignerParams;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
 import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.S3Utilities;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
 
+import java.net.URISyntaxException;
+import java.time.Clock;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
+/**
+ * Gera presigned URLs do S3 localmente (assinatura HMAC, sem chamada de rede).
+ * O S3Presigner e as credenciais são criados uma vez e reaproveitados.
+ * Com s3.presign.mode=lambda a assinatura local fica desligada e o
+ * JobReportService usa a Lambda de presigned URL.
+ */
 @Service
 public class S3Service {
 
+    public static final String AUDIO_CONTENT_TYPE = "audio/mpeg";
+
     @Value("${aws.region:us-east-1}")
     private String awsRegion;
 
-    private S3Presigner createPresigner() {
-        return S3Presigner.builder()
+    @Value("${s3.presign.mode:local}")
+    private String presignMode;
+
+    @Value("${s3.presign.expiration-seconds:3600}")
+    private int defaultExpirationSeconds;
+
+    private AwsCredentialsProvider credentialsProvider;
+    private S3Presigner presigner;
+    private S3Utilities utilities;
+    private final AwsS3V4Signer signer = AwsS3V4Signer.create();
+
+    @PostConstruct
+    public void init() {
+        credentialsProvider = DefaultCredentialsProvider.create();
+        presigner = S3Presigner.builder()
+                .region(Region.of(awsRegion))
+                .credentialsProvider(credentialsProvider)
+                .build();
+        utilities = S3Utilities.builder()
                 .region(Region.of(awsRegion))
-                .credentialsProvider(DefaultCredentialsProvider.create())
                 .build();
     }
 
+    @PreDestroy
+    public void shutdown() {
+        if (presigner != null) {
+            presigner.close();
+        }
+        if (credentialsProvider instanceof DefaultCredentialsProvider defaultProvider) {
+            defaultProvider.close();
+        }
+    }
+
+    public boolean isLocalSigningEnabled() {
+        return "local".equalsIgnoreCase(presignMode);
+    }
+
+    public int getDefaultExpirationSeconds() {
+        return defaultExpirationSeconds;
+    }
+
     public String generatePresignedUrl(String bucket, String key, int expirationSeconds) {
-        try (S3Presigner presigner = createPresigner()) {
-            GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
-                    .signatureDuration(Duration.ofSeconds(expirationSeconds))
-                    .getObjectRequest(request -> request
-                            .bucket(bucket)
-                            .key(key))
+        GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
+                .signatureDuration(Duration.ofSeconds(expirationSeconds))
+                .getObjectRequest(request -> request
+                        .bucket(bucket)
+                        .key(key)
+                        .responseContentType(AUDIO_CONTENT_TYPE))
+                .build();
+
+        PresignedGetObjectRequest presignedRequest = presigner.presignGetObject(presignRequest);
+        return presignedRequest.url().toString();
+    }
+
+    /**
+     * Igual a generatePresignedUrl, mas assinada como se fosse signedAt (X-Amz-Date fixo):
+     * mesmas credenciais e mesmo signedAt produzem a mesma URL em qualquer nó.
+     * A URL expira em signedAt + expirationSeconds.
+     */
+    public String generatePresignedUrl(String bucket, String key, int expirationSeconds, Instant signedAt) {
+        SdkHttpFullRequest request;
+        try {
+            request = SdkHttpFullRequest.builder()
+                    .method(SdkHttpMethod.GET)
+                    .uri(utilities.getUrl(url -> url.bucket(bucket).key(key)).toURI())
+                    .putRawQueryParameter("response-content-type", AUDIO_CONTENT_TYPE)
                     .build();
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Invalid S3 object URL: s3://" + bucket + "/" + key, e);
+        }
+
+        // O S3Presigner sempre assina com o relógio atual; o signer aceita relógio fixo
+        Aws4PresignerParams params = Aws4PresignerParams.builder()
+                .awsCredentials(credentialsProvider.resolveCredentials())
+                .signingName("s3")
+                .signingRegion(Region.of(awsRegion))
+                .doubleUrlEncode(false)
+                .normalizePath(false)
+                .signingClockOverride(Clock.fixed(signedAt, ZoneOffset.UTC))
+                .expirationTime(signedAt.plusSeconds(expirationSeconds))
+                .build();
+        return signer.presign(request, params).getUri().toString();
+    }
 
-            PresignedGetObjectRequest presignedRequest = presigner.presignGetObject(presignRequest);
-            return presignedRequest.url().toString();
+    /**
+     * Presigned URL de download (GET) para cada s3://bucket/key da lista.
+     * Paths que não puderem ser assinados ficam fora do mapa, para o chamador
+     * decidir o fallback.
+     */
+    public Map<String, String> presignGet(List<String> s3Paths) {
+        return presignGet(s3Paths, defaultExpirationSeconds);
+    }
+
+    public Map<String, String> presignGet(List<String> s3Paths, int expirationSeconds) {
+        Map<String, String> urls = new LinkedHashMap<>();
+        for (String s3Path : s3Paths) {
+            try {
+                urls.put(s3Path, generatePresignedUrl(extractBucket(s3Path), extractKey(s3Path), expirationSeconds));
+            } catch (RuntimeException e) {
+                System.err.println("ERRO ao assinar localmente " + s3Path + ": " + e.getMessage());
+            }
         }
+        return urls;
+    }
+
+    public Map<String, String> presignGet(List<String> s3Paths, int expirationSeconds, Instant signedAt) {
+        Map<String, String> urls = new LinkedHashMap<>();
+        for (String s3Path : s3Paths) {
+            try {
+                urls.put(s3Path, generatePresignedUrl(extractBucket(s3Path), extractKey(s3Path), expirationSeconds, signedAt));
+            } catch (RuntimeException e) {
+                System.err.println("ERRO ao assinar localmente " + s3Path + ": " + e.getMessage());
+            }
+        }
+        return urls;
+    }
+
+    /**
+     * Presigned URL de upload (PUT) de áudio para bucket/key.
+     */
+    public String presignPut(String bucket, String key) {
+        return presignPut(bucket, key, defaultExpirationSeconds);
+    }
+
+    public String presignPut(String bucket, String key, int expirationSeconds) {
+        PutObjectPresignRequest presignRequest = PutObjectPresignRequest.builder()
+                .signatureDuration(Duration.ofSeconds(expirationSeconds))
+                .putObjectRequest(request -> request
+                        .bucket(bucket)
+                        .key(key)
+                        .contentType(AUDIO_CONTENT_TYPE))
+                .build();
+
+        PresignedPutObjectRequest presignedRequest = presigner.presignPutObject(presignRequest);
+        return presignedRequest.url().toString();
     }
 
     public String extractKey(String s3Path) {
@@ -60,4 +199,3 @@ public class S3Service {
     }
 
 }
-
@@ -0,0 +1,139 @@
+package com.backend.gs.service;
+
+import com.backend.gs.dto.JobReportStatusResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Single-flight do getStatus por job report: chamadas simultâneas para o mesmo id
+ * (várias abas, retry storm) esperam a mesma computação em andamento em vez de
+ * repetir banco, presign e Lambda. Opcionalmente o resultado fica valendo por
+ * status.coalesce.fresh-ms depois de pronto.
+ *
+ * Escritas no job (callbacks) chamam {@link #invalidate(Long)}, então quem chega
+ * depois delas nunca recebe um resultado calculado antes.
+ */
+@Component
+public class StatusCoalescer {
+
+    @FunctionalInterface
+    public interface StatusLoader {
+        JobReportStatusResponse load(Long jobReportId) throws Exception;
+    }
+
+    private final ConcurrentHashMap<Long, CompletableFuture<JobReportStatusResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Cache<Long, JobReportStatusResponse> recent;
+
+    private final Counter computed;
+    private final Counter coalesced;
+    private final Counter fresh;
+
+    public StatusCoalescer(@Value("${status.coalesce.fresh-ms:0}") long freshMs,
+                           @Value("${status.coalesce.max-size:10000}") long maxSize,
+                           ObjectProvider<MeterRegistry> meterRegistry) {
+        this.recent = freshMs > 0
+                ? Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(Duration.ofMillis(freshMs)).build()
+                : null;
+
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        this.computed = requestCounter(registry, "computed", "getStatus calculados");
+        this.coalesced = requestCounter(registry, "coalesced", "getStatus que aguardaram uma computação em andamento");
+        this.fresh = requestCounter(registry, "fresh", "getStatus respondidos pela janela de frescor");
+    }
+
+    private static Counter requestCounter(MeterRegistry registry, String result, String description) {
+        return Counter.builder("status.requests")
+                .tag("result", result)
+                .description(description)
+                .register(registry);
+    }
+
+    public JobReportStatusResponse get(Long jobReportId, StatusLoader loader) throws Exception {
+        if (recent != null) {
+            JobReportStatusResponse cached = recent.getIfPresent(jobReportId);
+            if (cached != null) {
+                fresh.increment();
+                return cached;
+            }
+        }
+
+        CompletableFuture<JobReportStatusResponse> mine = new CompletableFuture<>();
+        CompletableFuture<JobReportStatusResponse> running = inFlight.putIfAbsent(jobReportId, mine);
+        if (running != null) {
+            coalesced.increment();
+            return await(running);
+        }
+
+        try {
+            // Quem terminou entre a leitura de recent e o putIfAbsent já deixou o resultado lá
+            JobReportStatusResponse cached = recent != null ? recent.getIfPresent(jobReportId) : null;
+            if (cached != null) {
+                fresh.increment();
+                mine.complete(cached);
+                return cached;
+            }
+
+            computed.increment();
+            JobReportStatusResponse status = loader.load(jobReportId);
+            // Só guarda se ninguém invalidou o job durante a computação. O teste e o put
+            // rodam dentro do computeIfPresent: um invalidate concorrente (que remove
+            // a entrada do inFlight) acontece inteiro antes ou depois, nunca no meio
+            if (recent != null) {
+                inFlight.computeIfPresent(jobReportId, (id, current) -> {
+                    if (current == mine) {
+                        recent.put(id, status);
+                    }
+                    return current;
+                });
+            }
+            mine.complete(status);
+            return status;
+        } catch (Throwable t) {
+            // Throwable: com um Error os que aguardam este future também precisam acordar
+            mine.completeExceptionally(t);
+            throw t;
+        } finally {
+            if (!mine.isDone()) {
+                mine.completeExceptionally(new IllegalStateException("Status do job " + jobReportId + " não calculado"));
+            }
+            inFlight.remove(jobReportId, mine);
+        }
+    }
+
+    /**
+     * Descarta o resultado recente e desliga a computação em andamento do id: as
+     * próximas chamadas recalculam.
+     */
+    public void invalidate(Long jobReportId) {
+        // Nesta ordem: depois do remove nenhuma computação antiga consegue gravar em recent
+        inFlight.remove(jobReportId);
+        if (recent != null) {
+            recent.invalidate(jobReportId);
+        }
+    }
+
+    private static JobReportStatusResponse await(CompletableFuture<JobReportStatusResponse> running) throws Exception {
+        try {
+            return running.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.backend.gs.service;
+
+import com.backend.gs.dao.UserDao;
+import com.backend.gs.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache read-through na frente do UserDao (busca por id, username e email), com
+ * write-through no save e no updatePassword. Linhas de USERS quase nunca mudam;
+ * user.cache.ttl-seconds limita o quanto uma instância pode ficar desatualizada
+ * em relação às outras.
+ *
+ * Usernames inexistentes ficam num cache negativo separado (user.cache.negative-*):
+ * credential stuffing repetindo os mesmos nomes não chega ao banco, e uma enxurrada
+ * de nomes diferentes não expulsa os usuários reais do cache. O registro continua
+ * conferindo existência direto no banco (UserDao.existsBy*). Um registro feito em
+ * outra instância só é visto aqui quando o negativo expira: user.cache.negative-ttl-seconds
+ * é o atraso máximo entre nós e deve ficar curto.
+ */
+@Component
+public class UserCache {
+
+    private final UserDao userDao;
+
+    private final Cache<Long, User> byId;
+    private final Cache<String, User> byUsername;
+    private final Cache<String, User> byEmail;
+    private final Cache<String, Boolean> unknownUsernames;
+    // Incrementado a cada escrita de usuário, antes de limpar o cache negativo
+    private final AtomicLong writeGeneration = new AtomicLong();
+
+    public UserCache(UserDao userDao,
+                     @Value("${user.cache.max-size:10000}") long maxSize,
+                     @Value("${user.cache.ttl-seconds:600}") long ttlSeconds,
+                     @Value("${user.cache.negative-max-size:10000}") long negativeMaxSize,
+                     @Value("${user.cache.negative-ttl-seconds:30}") long negativeTtlSeconds,
+                     ObjectProvider<MeterRegistry> meterRegistry) {
+        this.userDao = userDao;
+        this.byId = userCache(maxSize, ttlSeconds);
+        this.byUsername = userCache(maxSize, ttlSeconds);
+        this.byEmail = userCache(maxSize, ttlSeconds);
+        this.unknownUsernames = Caffeine.newBuilder()
+                .maximumSize(negativeMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(negativeTtlSeconds))
+                .recordStats()
+                .build();
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            // cache.gets{result=hit|miss}, cache.evictions, cache.size
+            CaffeineCacheMetrics.monitor(registry, byId, "usersById");
+            CaffeineCacheMetrics.monitor(registry, byUsername, "usersByUsername");
+            CaffeineCacheMetrics.monitor(registry, byEmail, "usersByEmail");
+            CaffeineCacheMetrics.monitor(registry, unknownUsernames, "unknownUsernames");
+        }
+    }
+
+    private static <K> Cache<K, User> userCache(long maxSize, long ttlSeconds) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public Optional<User> findById(Long id) {
+        User user = byId.get(id, key -> userDao.findById(key).orElse(null));
+        if (user != null) {
+            byUsername.put(user.getUsername(), user);
+            byEmail.put(user.getEmail(), user);
+        }
+        return Optional.ofNullable(user);
+    }
+
+    public Optional<User> findByUsername(String username) {
+        if (unknownUsernames.getIfPresent(username) != null) {
+            return Optional.empty();
+        }
+
+        long generation = writeGeneration.get();
+        User user = byUsername.get(username, key -> userDao.findByUsername(key).orElse(null));
+        if (user == null) {
+            // Só grava o negativo se nenhum save/updatePassword aconteceu desde a consulta:
+            // um "não existe" lido antes de um registro não pode sobrescrever o usuário novo
+            unknownUsernames.asMap().compute(username,
+                    (key, current) -> writeGeneration.get() == generation ? Boolean.TRUE : current);
+            return Optional.empty();
+        }
+        byId.put(user.getId(), user);
+        byEmail.put(user.getEmail(), user);
+        return Optional.of(user);
+    }
+
+    public Optional<User> findByEmail(String email) {
+        User user = byEmail.get(email, key -> userDao.findByEmail(key).orElse(null));
+        if (user != null) {
+            byId.put(user.getId(), user);
+            byUsername.put(user.getUsername(), user);
+        }
+        return Optional.ofNullable(user);
+    }
+
+    /**
+     * Grava no banco e já deixa o usuário no cache (e o username fora do cache negativo).
+     */
+    public User save(User user) {
+        User saved = userDao.save(user);
+        put(saved);
+        return saved;
+    }
+
+    public boolean updatePassword(Long id, String password) {
+        boolean updated = userDao.updatePassword(id, password);
+
+        User cached = byId.getIfPresent(id);
+        if (cached != null) {
+            // Cópia: quem já recebeu o objeto antigo não vê a senha mudar no meio do uso
+            User copy = new User(cached.getUsername(), cached.getEmail(), password);
+            copy.setId(cached.getId());
+            copy.setCreatedAt(cached.getCreatedAt());
+            put(copy);
+        }
+        return updated;
+    }
+
+    private void put(User user) {
+        writeGeneration.incrementAndGet();
+        unknownUsernames.invalidate(user.getUsername());
+        byId.put(user.getId(), user);
+        byUsername.put(user.getUsername(), user);
+        byEmail.put(user.getEmail(), user);
+    }
+}
@@ -0,0 +1,113 @@
+package com.backend.gs.service;
+
+import com.backend.gs.model.AuthenticatedUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Cache de tokens JWT já verificados, pelo SHA-256 do token (o token em si não
+ * fica em memória). O mesmo bearer chega em milhares de polls seguidos: depois do
+ * primeiro, a autenticação vira um hash e um lookup em vez de Base64 + JSON + HMAC.
+ *
+ * Cada entrada expira no "exp" do próprio token, então um token vencido nunca sai
+ * do cache; tokens inválidos (inclusive os sem "exp", que o JwtService rejeita)
+ * não são cacheados. Limitado por jwt.cache.max-size e desligável com
+ * jwt.cache.enabled=false.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final Cache<String, VerifiedToken> cache;
+    private final Clock clock;
+
+    public VerifiedTokenCache(@Value("${jwt.cache.enabled:true}") boolean enabled,
+                              @Value("${jwt.cache.max-size:10000}") long maxSize,
+                              ObjectProvider<MeterRegistry> meterRegistry) {
+        this.clock = Clock.systemUTC();
+        this.cache = enabled
+                ? Caffeine.newBuilder()
+                        .maximumSize(maxSize)
+                        .expireAfter(new AtTokenExpiration())
+                        .recordStats()
+                        .build()
+                : null;
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null && cache != null) {
+            // cache.gets{result=hit|miss}, cache.evictions, cache.size
+            CaffeineCacheMetrics.monitor(registry, cache, "verifiedTokens");
+        }
+    }
+
+    /**
+     * Devolve o usuário do token, verificando com o {@code verifier} só quando o token
+     * não está em cache (ou o cache está desligado). Exceções do verifier passam direto.
+     */
+    public AuthenticatedUser get(String token, Function<String, VerifiedToken> verifier) {
+        if (cache == null) {
+            return verifier.apply(token).user();
+        }
+
+        String key = sha256(token);
+        VerifiedToken cached = cache.getIfPresent(key);
+        if (cached != null && cached.expiresAtMillis() > clock.millis()) {
+            return cached.user();
+        }
+
+        VerifiedToken verified = verifier.apply(token);
+        if (verified.expiresAtMillis() > clock.millis()) {
+            cache.put(key, verified);
+        }
+        return verified.user();
+    }
+
+    private static String sha256(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    /**
+     * Resultado de uma verificação: o principal e o "exp" do token.
+     */
+    public record VerifiedToken(AuthenticatedUser user, long expiresAtMillis) {
+    }
+
+    /**
+     * Expira cada entrada no "exp" do token.
+     */
+    private class AtTokenExpiration implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, value.expiresAtMillis() - clock.millis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
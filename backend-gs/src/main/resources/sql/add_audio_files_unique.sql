@@ -0,0 +1,52 @@
+-- ============================================
+-- Script de Migração: Chave Única em AUDIO_FILES
+-- ============================================
+-- Execute este script se você já tem tabelas criadas.
+-- Remove áudios duplicados (mesmo job + mesmo S3_PATH, gerados por
+-- callbacks repetidos) e cria a chave única usada pelo upsert do backend.
+
+SET SERVEROUTPUT ON;
+
+-- ============================================
+-- 1. REMOVER DUPLICATAS (MANTÉM O REGISTRO MAIS RECENTE)
+-- ============================================
+DECLARE
+    v_deleted NUMBER;
+BEGIN
+    DELETE FROM AUDIO_FILES a
+    WHERE a.ID_AUDIO_FILE NOT IN (
+        SELECT MAX(b.ID_AUDIO_FILE)
+        FROM AUDIO_FILES b
+        GROUP BY b.ID_JOB_REPORT, b.S3_PATH
+    );
+
+    v_deleted := SQL%ROWCOUNT;
+    DBMS_OUTPUT.PUT_LINE('✅ ' || v_deleted || ' áudio(s) duplicado(s) removido(s)');
+    COMMIT;
+END;
+/
+
+-- ============================================
+-- 2. CRIAR CHAVE ÚNICA (ID_JOB_REPORT, S3_PATH)
+-- ============================================
+BEGIN
+   EXECUTE IMMEDIATE 'ALTER TABLE AUDIO_FILES ADD CONSTRAINT UK_AUDIO_FILES_JOB_REPORT_PATH 
+      UNIQUE (ID_JOB_REPORT, S3_PATH)';
+   DBMS_OUTPUT.PUT_LINE('✅ Constraint UK_AUDIO_FILES_JOB_REPORT_PATH criada com sucesso');
+EXCEPTION
+   WHEN OTHERS THEN
+      IF SQLCODE = -2261 THEN  -- ORA-02261: such unique or primary key already exists in the table
+         DBMS_OUTPUT.PUT_LINE('⚠️  Constraint UK_AUDIO_FILES_JOB_REPORT_PATH já existe');
+      ELSE
+         RAISE;
+      END IF;
+END;
+/
+
+COMMIT;
+
+-- ============================================
+-- VERIFICAÇÃO
+-- ============================================
+-- Ver constraints:
+-- SELECT constraint_name, constraint_type FROM user_constraints WHERE table_name = 'AUDIO_FILES';
@@ -0,0 +1,71 @@
+-- ============================================
+-- Script de Migração: Status persistido do JOB_REPORT
+-- ============================================
+-- Execute este script se você já tem tabelas criadas.
+-- Adiciona STATUS e os instantes das transições em JOB_REPORT e preenche
+-- os jobs existentes a partir de REPORT_URL e AUDIO_FILES (o mesmo critério
+-- que o getStatus usava antes).
+
+SET SERVEROUTPUT ON;
+
+-- ============================================
+-- 1. ADICIONAR COLUNAS
+-- ============================================
+BEGIN
+   EXECUTE IMMEDIATE 'ALTER TABLE JOB_REPORT ADD (
+      STATUS VARCHAR2(20) DEFAULT ''PENDING'' NOT NULL,
+      AUDIOS_READY_AT TIMESTAMP,
+      REPORT_READY_AT TIMESTAMP
+   )';
+   DBMS_OUTPUT.PUT_LINE('✅ Colunas STATUS, AUDIOS_READY_AT e REPORT_READY_AT adicionadas');
+EXCEPTION
+   WHEN OTHERS THEN
+      IF SQLCODE = -1430 THEN  -- ORA-01430: column being added already exists in table
+         DBMS_OUTPUT.PUT_LINE('⚠️  Colunas de status já existem');
+      ELSE
+         RAISE;
+      END IF;
+END;
+/
+
+-- ============================================
+-- 2. PREENCHER STATUS DOS JOBS EXISTENTES
+-- ============================================
+-- Os instantes reais das transições não são conhecidos: usa o momento da migração
+UPDATE JOB_REPORT j
+   SET STATUS = 'AUDIOS_READY',
+       AUDIOS_READY_AT = CURRENT_TIMESTAMP
+ WHERE j.STATUS = 'PENDING'
+   AND EXISTS (SELECT 1 FROM AUDIO_FILES a WHERE a.ID_JOB_REPORT = j.ID_JOB_REPORT);
+
+UPDATE JOB_REPORT
+   SET STATUS = 'REPORT_READY',
+       REPORT_READY_AT = CURRENT_TIMESTAMP
+ WHERE STATUS <> 'REPORT_READY'
+   AND REPORT_URL IS NOT NULL;
+
+-- ============================================
+-- 3. CRIAR ÍNDICE POR STATUS
+-- ============================================
+BEGIN
+   EXECUTE IMMEDIATE 'CREATE INDEX IDX_JOB_REPORT_STATUS ON JOB_REPORT(STATUS, CREATED_AT)';
+   DBMS_OUTPUT.PUT_LINE('✅ Índice IDX_JOB_REPORT_STATUS criado com sucesso');
+EXCEPTION
+   WHEN OTHERS THEN
+      IF SQLCODE = -955 THEN
+         DBMS_OUTPUT.PUT_LINE('⚠️  Índice IDX_JOB_REPORT_STATUS já existe');
+      ELSE
+         RAISE;
+      END IF;
+END;
+/
+
+COMMIT;
+
+-- ============================================
+-- VERIFICAÇÃO
+-- ============================================
+-- Quantidade de jobs por status:
+-- SELECT STATUS, COUNT(*) FROM JOB_REPORT GROUP BY STATUS;
+-- Jobs parados em PENDING há mais de uma hora:
+-- SELECT ID_JOB_REPORT, CREATED_AT FROM JOB_REPORT WHERE STATUS = 'PENDING' AND CREATED_AT < CURRENT_TIMESTAMP - INTERVAL '1' HOUR ORDER BY CREATED_AT;
@@ -0,0 +1,63 @@
+-- ============================================
+-- Script de Migração: Tabela LAMBDA_OUTBOX
+-- ============================================
+-- Execute este script se você já tem tabelas criadas.
+-- Cria a tabela de outbox das chamadas às Lambdas, drenada pelo
+-- OutboxDispatcher do backend (SELECT ... FOR UPDATE SKIP LOCKED).
+
+SET SERVEROUTPUT ON;
+
+-- ============================================
+-- 1. CRIAR TABELA LAMBDA_OUTBOX
+-- ============================================
+BEGIN
+   EXECUTE IMMEDIATE 'CREATE TABLE LAMBDA_OUTBOX (
+      ID_OUTBOX NUMBER GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+      ID_JOB_REPORT NUMBER NOT NULL,
+      ENDPOINT VARCHAR2(50) NOT NULL,
+      PAYLOAD CLOB NOT NULL,
+      STATUS VARCHAR2(20) DEFAULT ''PENDING'' NOT NULL,
+      ATTEMPTS NUMBER DEFAULT 0 NOT NULL,
+      NEXT_ATTEMPT_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+      LAST_ERROR VARCHAR2(1000),
+      CREATED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+      PROCESSED_AT TIMESTAMP,
+      CONSTRAINT FK_LAMBDA_OUTBOX_JOB_REPORT 
+         FOREIGN KEY (ID_JOB_REPORT) 
+         REFERENCES JOB_REPORT(ID_JOB_REPORT) 
+         ON DELETE CASCADE
+   )';
+   DBMS_OUTPUT.PUT_LINE('✅ Tabela LAMBDA_OUTBOX criada com sucesso');
+EXCEPTION
+   WHEN OTHERS THEN
+      IF SQLCODE = -955 THEN  -- ORA-00955: name is already used by an existing object
+         DBMS_OUTPUT.PUT_LINE('⚠️  Tabela LAMBDA_OUTBOX já existe');
+      ELSE
+         RAISE;
+      END IF;
+END;
+/
+
+-- ============================================
+-- 2. CRIAR ÍNDICE DAS MENSAGENS VENCIDAS
+-- ============================================
+BEGIN
+   EXECUTE IMMEDIATE 'CREATE INDEX IDX_LAMBDA_OUTBOX_DUE ON LAMBDA_OUTBOX(STATUS, NEXT_ATTEMPT_AT)';
+   DBMS_OUTPUT.PUT_LINE('✅ Índice IDX_LAMBDA_OUTBOX_DUE criado com sucesso');
+EXCEPTION
+   WHEN OTHERS THEN
+      IF SQLCODE = -955 THEN
+         DBMS_OUTPUT.PUT_LINE('⚠️  Índice IDX_LAMBDA_OUTBOX_DUE já existe');
+      ELSE
+         RAISE;
+      END IF;
+END;
+/
+
+COMMIT;
+
+-- ============================================
+-- VERIFICAÇÃO
+-- ============================================
+-- Mensagens que esgotaram as tentativas (dead letter):
+-- SELECT ID_OUTBOX, ID_JOB_REPORT, ENDPOINT, ATTEMPTS, LAST_ERROR FROM LAMBDA_OUTBOX WHERE STATUS = 'DEAD';
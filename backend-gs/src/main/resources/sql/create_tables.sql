@@ -25,6 +25,7 @@ CREATE INDEX IDX_USERS_EMAIL ON USERS(EMAIL);
 -- 2. CRIAR TABELA JOB_REPORT
 -- ============================================
 -- Tabela de relatórios de vagas/entrevistas
+-- status: PENDING (criado), AUDIOS_READY (callback audios-ready), REPORT_READY (relatório pronto)
 CREATE TABLE JOB_REPORT (
    ID_JOB_REPORT NUMBER GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
    ID_USER NUMBER NOT NULL,
@@ -34,6 +35,9 @@ CREATE TABLE JOB_REPORT (
    SESSION_ID VARCHAR2(100),
    REPORT_URL VARCHAR2(2000),
    CREATED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+   STATUS VARCHAR2(20) DEFAULT 'PENDING' NOT NULL,
+   AUDIOS_READY_AT TIMESTAMP,
+   REPORT_READY_AT TIMESTAMP,
    CONSTRAINT FK_JOB_REPORT_USER 
       FOREIGN KEY (ID_USER) 
       REFERENCES USERS(ID) 
@@ -41,8 +45,10 @@ CREATE TABLE JOB_REPORT (
 );
 
 -- Índices para melhorar performance
-CREATE INDEX IDX_JOB_REPORT_USER ON JOB_REPORT(ID_USER);
+CREATE INDEX IDX_JOB_REPORT_USER ON JOB_REPORT(ID_USER, ID_JOB_REPORT);
 CREATE INDEX IDX_JOB_REPORT_SESSION_ID ON JOB_REPORT(SESSION_ID);
+-- Jobs por status (ex.: parados em PENDING)
+CREATE INDEX IDX_JOB_REPORT_STATUS ON JOB_REPORT(STATUS, CREATED_AT);
 
 -- ============================================
 -- 3. CRIAR TABELA AUDIO_FILES
@@ -57,17 +63,45 @@ CREATE TABLE AUDIO_FILES (
    CONSTRAINT FK_AUDIO_FILES_JOB_REPORT 
       FOREIGN KEY (ID_JOB_REPORT) 
       REFERENCES JOB_REPORT(ID_JOB_REPORT) 
-      ON DELETE CASCADE
+      ON DELETE CASCADE,
+   CONSTRAINT UK_AUDIO_FILES_JOB_REPORT_PATH
+      UNIQUE (ID_JOB_REPORT, S3_PATH)
 );
 
 -- Índice para melhorar performance nas consultas por ID_JOB_REPORT
 CREATE INDEX IDX_AUDIO_FILES_JOB_REPORT ON AUDIO_FILES(ID_JOB_REPORT);
 
+-- ============================================
+-- 4. CRIAR TABELA LAMBDA_OUTBOX
+-- ============================================
+-- Chamadas às Lambdas pendentes (gravadas na mesma transação do job report)
+-- STATUS: PENDING (a enviar/em retry), DONE (enviada), DEAD (esgotou as tentativas)
+CREATE TABLE LAMBDA_OUTBOX (
+   ID_OUTBOX NUMBER GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+   ID_JOB_REPORT NUMBER NOT NULL,
+   ENDPOINT VARCHAR2(50) NOT NULL,
+   PAYLOAD CLOB NOT NULL,
+   STATUS VARCHAR2(20) DEFAULT 'PENDING' NOT NULL,
+   ATTEMPTS NUMBER DEFAULT 0 NOT NULL,
+   NEXT_ATTEMPT_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+   LAST_ERROR VARCHAR2(1000),
+   CREATED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+   PROCESSED_AT TIMESTAMP,
+   CONSTRAINT FK_LAMBDA_OUTBOX_JOB_REPORT 
+      FOREIGN KEY (ID_JOB_REPORT) 
+      REFERENCES JOB_REPORT(ID_JOB_REPORT) 
+      ON DELETE CASCADE
+);
+
+-- Índice usado pelo dispatcher para buscar as mensagens vencidas
+CREATE INDEX IDX_LAMBDA_OUTBOX_DUE ON LAMBDA_OUTBOX(STATUS, NEXT_ATTEMPT_AT);
+
 -- ============================================
 -- RELACIONAMENTOS
 -- ============================================
 -- USERS 1:N JOB_REPORT (Um usuário pode ter vários relatórios)
 -- JOB_REPORT 1:N AUDIO_FILES (Um relatório pode ter vários áudios)
+-- JOB_REPORT 1:N LAMBDA_OUTBOX (Chamadas às Lambdas de um relatório)
 
 COMMIT;
 
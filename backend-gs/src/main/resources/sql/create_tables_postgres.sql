@@ -25,6 +25,7 @@ CREATE INDEX IF NOT EXISTS idx_users_email ON users(email);
 -- 2. CRIAR TABELA JOB_REPORT
 -- ============================================
 -- Tabela de relatórios de vagas/entrevistas
+-- status: PENDING (criado), AUDIOS_READY (callback audios-ready), REPORT_READY (relatório pronto)
 CREATE TABLE IF NOT EXISTS job_report (
     id_job_report BIGSERIAL PRIMARY KEY,
     id_user BIGINT NOT NULL,
@@ -34,6 +35,9 @@ CREATE TABLE IF NOT EXISTS job_report (
     session_id VARCHAR(100),
     report_url VARCHAR(2000),
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    status VARCHAR(20) DEFAULT 'PENDING' NOT NULL,
+    audios_ready_at TIMESTAMP,
+    report_ready_at TIMESTAMP,
     CONSTRAINT fk_job_report_user 
         FOREIGN KEY (id_user) 
         REFERENCES users(id) 
@@ -41,8 +45,10 @@ CREATE TABLE IF NOT EXISTS job_report (
 );
 
 -- Índices para melhorar performance
-CREATE INDEX IF NOT EXISTS idx_job_report_user ON job_report(id_user);
+CREATE INDEX IF NOT EXISTS idx_job_report_user ON job_report(id_user, id_job_report);
 CREATE INDEX IF NOT EXISTS idx_job_report_session_id ON job_report(session_id);
+-- Jobs por status (ex.: parados em PENDING)
+CREATE INDEX IF NOT EXISTS idx_job_report_status ON job_report(status, created_at);
 
 -- ============================================
 -- 3. CRIAR TABELA AUDIO_FILES
@@ -57,15 +63,43 @@ CREATE TABLE IF NOT EXISTS audio_files (
     CONSTRAINT fk_audio_files_job_report 
         FOREIGN KEY (id_job_report) 
         REFERENCES job_report(id_job_report) 
-        ON DELETE CASCADE
+        ON DELETE CASCADE,
+    CONSTRAINT uk_audio_files_job_report_path
+        UNIQUE (id_job_report, s3_path)
 );
 
 -- Índice para melhorar performance nas consultas por id_job_report
 CREATE INDEX IF NOT EXISTS idx_audio_files_job_report ON audio_files(id_job_report);
 
+-- ============================================
+-- 4. CRIAR TABELA LAMBDA_OUTBOX
+-- ============================================
+-- Chamadas às Lambdas pendentes (gravadas na mesma transação do job report)
+-- status: PENDING (a enviar/em retry), DONE (enviada), DEAD (esgotou as tentativas)
+CREATE TABLE IF NOT EXISTS lambda_outbox (
+    id_outbox BIGSERIAL PRIMARY KEY,
+    id_job_report BIGINT NOT NULL,
+    endpoint VARCHAR(50) NOT NULL,
+    payload TEXT NOT NULL,
+    status VARCHAR(20) DEFAULT 'PENDING' NOT NULL,
+    attempts INT DEFAULT 0 NOT NULL,
+    next_attempt_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    processed_at TIMESTAMP,
+    CONSTRAINT fk_lambda_outbox_job_report 
+        FOREIGN KEY (id_job_report) 
+        REFERENCES job_report(id_job_report) 
+        ON DELETE CASCADE
+);
+
+-- Índice usado pelo dispatcher para buscar as mensagens vencidas
+CREATE INDEX IF NOT EXISTS idx_lambda_outbox_due ON lambda_outbox(status, next_attempt_at);
+
 -- ============================================
 -- RELACIONAMENTOS
 -- ============================================
 -- USERS 1:N JOB_REPORT (Um usuário pode ter vários relatórios)
 -- JOB_REPORT 1:N AUDIO_FILES (Um relatório pode ter vários áudios)
+-- JOB_REPORT 1:N LAMBDA_OUTBOX (Chamadas às Lambdas de um relatório)
 
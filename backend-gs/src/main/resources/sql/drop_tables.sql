@@ -6,7 +6,21 @@
 
 -- Dropar na ordem correta (devido às foreign keys)
 
--- 1. Dropar AUDIO_FILES (tem FK para JOB_REPORT)
+-- 1. Dropar LAMBDA_OUTBOX (tem FK para JOB_REPORT)
+BEGIN
+   EXECUTE IMMEDIATE 'DROP TABLE LAMBDA_OUTBOX CASCADE CONSTRAINTS';
+   DBMS_OUTPUT.PUT_LINE('✅ Tabela LAMBDA_OUTBOX dropada');
+EXCEPTION
+   WHEN OTHERS THEN
+      IF SQLCODE = -942 THEN
+         DBMS_OUTPUT.PUT_LINE('⚠️  Tabela LAMBDA_OUTBOX não existe');
+      ELSE
+         RAISE;
+      END IF;
+END;
+/
+
+-- 2. Dropar AUDIO_FILES (tem FK para JOB_REPORT)
 BEGIN
    EXECUTE IMMEDIATE 'DROP TABLE AUDIO_FILES CASCADE CONSTRAINTS';
    DBMS_OUTPUT.PUT_LINE('✅ Tabela AUDIO_FILES dropada');
@@ -20,7 +34,7 @@ EXCEPTION
 END;
 /
 
--- 2. Dropar JOB_REPORT (tem FK para USERS)
+-- 3. Dropar JOB_REPORT (tem FK para USERS)
 BEGIN
    EXECUTE IMMEDIATE 'DROP TABLE JOB_REPORT CASCADE CONSTRAINTS';
    DBMS_OUTPUT.PUT_LINE('✅ Tabela JOB_REPORT dropada');
@@ -34,7 +48,7 @@ EXCEPTION
 END;
 /
 
--- 3. Dropar USERS
+-- 4. Dropar USERS
 BEGIN
    EXECUTE IMMEDIATE 'DROP TABLE USERS CASCADE CONSTRAINTS';
    DBMS_OUTPUT.PUT_LINE('✅ Tabela USERS dropada');
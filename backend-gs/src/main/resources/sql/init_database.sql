@@ -10,6 +10,19 @@
 -- ============================================
 
 -- Dropar tabelas na ordem correta (devido às foreign keys)
+BEGIN
+   EXECUTE IMMEDIATE 'DROP TABLE LAMBDA_OUTBOX CASCADE CONSTRAINTS';
+   DBMS_OUTPUT.PUT_LINE('✅ Tabela LAMBDA_OUTBOX dropada');
+EXCEPTION
+   WHEN OTHERS THEN
+      IF SQLCODE = -942 THEN
+         DBMS_OUTPUT.PUT_LINE('⚠️  Tabela LAMBDA_OUTBOX não existe');
+      ELSE
+         RAISE;
+      END IF;
+END;
+/
+
 BEGIN
    EXECUTE IMMEDIATE 'DROP TABLE AUDIO_FILES CASCADE CONSTRAINTS';
    DBMS_OUTPUT.PUT_LINE('✅ Tabela AUDIO_FILES dropada');
@@ -74,6 +87,9 @@ CREATE TABLE JOB_REPORT (
    SESSION_ID VARCHAR2(100),
    REPORT_URL VARCHAR2(2000),
    CREATED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+   STATUS VARCHAR2(20) DEFAULT 'PENDING' NOT NULL,
+   AUDIOS_READY_AT TIMESTAMP,
+   REPORT_READY_AT TIMESTAMP,
    CONSTRAINT FK_JOB_REPORT_USER 
       FOREIGN KEY (ID_USER) 
       REFERENCES USERS(ID) 
@@ -92,11 +108,33 @@ CREATE TABLE AUDIO_FILES (
    CONSTRAINT FK_AUDIO_FILES_JOB_REPORT 
       FOREIGN KEY (ID_JOB_REPORT) 
       REFERENCES JOB_REPORT(ID_JOB_REPORT) 
-      ON DELETE CASCADE
+      ON DELETE CASCADE,
+   CONSTRAINT UK_AUDIO_FILES_JOB_REPORT_PATH
+      UNIQUE (ID_JOB_REPORT, S3_PATH)
 );
 
 DBMS_OUTPUT.PUT_LINE('✅ Tabela AUDIO_FILES criada');
 
+-- 4. Criar tabela LAMBDA_OUTBOX
+CREATE TABLE LAMBDA_OUTBOX (
+   ID_OUTBOX NUMBER GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+   ID_JOB_REPORT NUMBER NOT NULL,
+   ENDPOINT VARCHAR2(50) NOT NULL,
+   PAYLOAD CLOB NOT NULL,
+   STATUS VARCHAR2(20) DEFAULT 'PENDING' NOT NULL,
+   ATTEMPTS NUMBER DEFAULT 0 NOT NULL,
+   NEXT_ATTEMPT_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+   LAST_ERROR VARCHAR2(1000),
+   CREATED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+   PROCESSED_AT TIMESTAMP,
+   CONSTRAINT FK_LAMBDA_OUTBOX_JOB_REPORT 
+      FOREIGN KEY (ID_JOB_REPORT) 
+      REFERENCES JOB_REPORT(ID_JOB_REPORT) 
+      ON DELETE CASCADE
+);
+
+DBMS_OUTPUT.PUT_LINE('✅ Tabela LAMBDA_OUTBOX criada');
+
 -- ============================================
 -- PARTE 3: CREATE INDEXES
 -- ============================================
@@ -106,12 +144,17 @@ CREATE INDEX IDX_USERS_USERNAME ON USERS(USERNAME);
 CREATE INDEX IDX_USERS_EMAIL ON USERS(EMAIL);
 
 -- Índices para JOB_REPORT
-CREATE INDEX IDX_JOB_REPORT_USER ON JOB_REPORT(ID_USER);
+CREATE INDEX IDX_JOB_REPORT_USER ON JOB_REPORT(ID_USER, ID_JOB_REPORT);
 CREATE INDEX IDX_JOB_REPORT_SESSION_ID ON JOB_REPORT(SESSION_ID);
+-- Jobs por status (ex.: parados em PENDING)
+CREATE INDEX IDX_JOB_REPORT_STATUS ON JOB_REPORT(STATUS, CREATED_AT);
 
 -- Índices para AUDIO_FILES
 CREATE INDEX IDX_AUDIO_FILES_JOB_REPORT ON AUDIO_FILES(ID_JOB_REPORT);
 
+-- Índices para LAMBDA_OUTBOX
+CREATE INDEX IDX_LAMBDA_OUTBOX_DUE ON LAMBDA_OUTBOX(STATUS, NEXT_ATTEMPT_AT);
+
 DBMS_OUTPUT.PUT_LINE('✅ Índices criados');
 
 COMMIT;
@@ -0,0 +1,48 @@
+-- ============================================
+-- Script de Migração: IDX_JOB_REPORT_USER com ID_JOB_REPORT
+-- ============================================
+-- Execute este script se você já tem tabelas criadas.
+-- A listagem /api/jobReport/mine pagina por (ID_USER, ID_JOB_REPORT): com o
+-- índice composto o banco lê só as linhas da página, já na ordem, em vez de
+-- ordenar todos os jobs do usuário.
+
+SET SERVEROUTPUT ON;
+
+-- ============================================
+-- 1. REMOVER O ÍNDICE ANTIGO (só ID_USER)
+-- ============================================
+DECLARE
+   v_columns NUMBER;
+BEGIN
+   SELECT COUNT(*) INTO v_columns
+     FROM USER_IND_COLUMNS
+    WHERE INDEX_NAME = 'IDX_JOB_REPORT_USER';
+
+   IF v_columns = 1 THEN
+      EXECUTE IMMEDIATE 'DROP INDEX IDX_JOB_REPORT_USER';
+      DBMS_OUTPUT.PUT_LINE('✅ Índice antigo IDX_JOB_REPORT_USER(ID_USER) removido');
+   END IF;
+END;
+/
+
+-- ============================================
+-- 2. CRIAR O ÍNDICE COMPOSTO
+-- ============================================
+BEGIN
+   EXECUTE IMMEDIATE 'CREATE INDEX IDX_JOB_REPORT_USER ON JOB_REPORT(ID_USER, ID_JOB_REPORT)';
+   DBMS_OUTPUT.PUT_LINE('✅ Índice IDX_JOB_REPORT_USER(ID_USER, ID_JOB_REPORT) criado com sucesso');
+EXCEPTION
+   WHEN OTHERS THEN
+      IF SQLCODE = -955 THEN  -- ORA-00955: name is already used by an existing object
+         DBMS_OUTPUT.PUT_LINE('⚠️  Índice IDX_JOB_REPORT_USER já existe');
+      ELSE
+         RAISE;
+      END IF;
+END;
+/
+
+-- ============================================
+-- VERIFICAÇÃO
+-- ============================================
+-- Colunas do índice (deve listar ID_USER e ID_JOB_REPORT):
+-- SELECT COLUMN_NAME, COLUMN_POSITION FROM USER_IND_COLUMNS WHERE INDEX_NAME = 'IDX_JOB_REPORT_USER' ORDER BY COLUMN_POSITION;